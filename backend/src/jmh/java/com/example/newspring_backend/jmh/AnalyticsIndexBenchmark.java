@@ -0,0 +1,147 @@
+package com.example.newspring_backend.jmh;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.NewspringBackendApplication;
+import com.example.newspring_backend.benchmark.BenchmarkDataGenerator;
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.dto.PeriodTotals;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.example.newspring_backend.service.MonthlySummaryService;
+import com.example.newspring_backend.service.TransactionAnalyticsIndex;
+
+/**
+ * Report figures from {@link TransactionAnalyticsIndex} versus the uncached SQL
+ * the report services run: the {@code monthly_summary} rollup for month, year
+ * and dashboard totals, and raw transactions for a category range of partial
+ * months. The index is loaded during set-up, so only warm scans are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsIndexBenchmark {
+
+    private static final String EMAIL = "jmh-analytics@example.com";
+    private static final LocalDate END = BenchmarkDataGenerator.END_DATE;
+    private static final LocalDate CATEGORY_FROM = END.minusMonths(7).withDayOfMonth(12);
+    private static final LocalDate CATEGORY_TO = END.minusMonths(1).withDayOfMonth(20);
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionRepository transactionRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private TransactionAnalyticsIndex analyticsIndex;
+    private TransactionTemplate readOnlyTransaction;
+    private BenchmarkDataGenerator.Seeded seeded;
+    private Long categoryId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NewspringBackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN", "--reports.analytics.enabled=true");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        monthlySummaryRepository = context.getBean(MonthlySummaryRepository.class);
+        analyticsIndex = context.getBean(TransactionAnalyticsIndex.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        // Left behind if an earlier run was killed before tear-down
+        jdbcTemplate.update("DELETE FROM app_user WHERE email = ?", EMAIL);
+        seeded = BenchmarkDataGenerator.seed(jdbcTemplate, EMAIL, rows, 42L);
+        context.getBean(MonthlySummaryService.class).rebuildUser(seeded.userId());
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+        categoryId = seeded.categoryIds().get(2);
+        analyticsIndex.summary(seeded.userId(), END.withDayOfMonth(1), END.plusDays(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (seeded != null) {
+            BenchmarkDataGenerator.delete(jdbcTemplate, seeded.userId());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public PeriodSummary monthlySql() {
+        return readOnlyTransaction.execute(status -> {
+            PeriodTotals totals = monthlySummaryRepository.getMonthTotals(seeded.userId(), END.getYear(), END.getMonthValue());
+            return PeriodSummary.of(totals.income(), totals.expense());
+        });
+    }
+
+    @Benchmark
+    public PeriodSummary monthlyIndex() {
+        LocalDate start = END.withDayOfMonth(1);
+        return analyticsIndex.summary(seeded.userId(), start, start.plusMonths(1));
+    }
+
+    @Benchmark
+    public PeriodSummary yearlySql() {
+        return readOnlyTransaction.execute(status -> {
+            PeriodTotals totals = monthlySummaryRepository.getYearTotals(seeded.userId(), END.getYear());
+            return PeriodSummary.of(totals.income(), totals.expense());
+        });
+    }
+
+    @Benchmark
+    public PeriodSummary yearlyIndex() {
+        LocalDate start = END.withDayOfYear(1);
+        return analyticsIndex.summary(seeded.userId(), start, start.plusYears(1));
+    }
+
+    @Benchmark
+    public BigDecimal categorySql() {
+        return readOnlyTransaction.execute(status ->
+            transactionRepository.getTotalByCategory(seeded.userId(), categoryId, CATEGORY_FROM, CATEGORY_TO));
+    }
+
+    @Benchmark
+    public Money categoryIndex() {
+        return analyticsIndex.categoryTotal(seeded.userId(), categoryId, CATEGORY_FROM, CATEGORY_TO.plusDays(1));
+    }
+
+    @Benchmark
+    public DashboardTotals dashboardSql() {
+        return readOnlyTransaction.execute(status ->
+            monthlySummaryRepository.getDashboardTotals(seeded.userId(), END.getYear(), END.getMonthValue()));
+    }
+
+    @Benchmark
+    public DashboardTotals dashboardIndex() {
+        return analyticsIndex.dashboardTotals(seeded.userId(), END.getYear(), END.getMonthValue());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.newspring_backend.jmh;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson cost of a transaction page as entities (each row dragging its
+ * account, category and user along) versus the flat {@link TransactionResponse}
+ * rows the endpoints return now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Transaction> entityPage;
+    private Page<TransactionResponse> dtoPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User user = new User("bench@example.com", "x", "Bench", "User");
+        user.setId(1L);
+        Account account = new Account(user, "Checking", "USD", new BigDecimal("1234.56"));
+        account.setId(10L);
+        Category category = new Category(user, "Groceries", Category.CategoryType.EXPENSE, "#6B7280", "folder");
+        category.setId(20L);
+
+        List<Transaction> transactions = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = new Transaction(account, category,
+                BigDecimal.valueOf(-(100 + i), 2), LocalDate.of(2025, 12, 31).minusDays(i), "Grocery " + i);
+            transaction.setId(1_000L + i);
+            transaction.setCreatedAt(LocalDateTime.of(2025, 12, 31, 12, 0));
+            transaction.setUpdatedAt(LocalDateTime.of(2025, 12, 31, 12, 0));
+            transactions.add(transaction);
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        entityPage = new PageImpl<>(transactions, pageable, 10_000);
+        dtoPage = entityPage.map(TransactionResponse::from);
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] dtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtoPage);
+    }
+}
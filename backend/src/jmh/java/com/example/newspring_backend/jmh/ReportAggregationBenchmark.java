@@ -0,0 +1,124 @@
+package com.example.newspring_backend.jmh;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * In-memory side of the report endpoints: summing a period's amounts as
+ * {@link BigDecimal}, as {@link Money} values and as raw {@code Money} units in
+ * a {@code long}, and rendering the result as the {@code HashMap}
+ * {@code ReportsController} builds versus a {@link PeriodSummary}. Run with
+ * {@code -Djmh.extra="-prof gc"} for the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int amounts;
+
+    private BigDecimal[] decimals;
+    private Money[] monies;
+    private long[] units;
+    private PeriodSummary summary;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimals = new BigDecimal[amounts];
+        monies = new Money[amounts];
+        units = new long[amounts];
+        for (int i = 0; i < amounts; i++) {
+            long cents = random.nextInt(10) == 0 ? 100_000 + random.nextInt(50_000) : -(100 + random.nextInt(20_000));
+            decimals[i] = BigDecimal.valueOf(cents, 2).setScale(Money.SCALE);
+            monies[i] = Money.of(decimals[i]);
+            units[i] = monies[i].units();
+        }
+        summary = sumDecimals();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public PeriodSummary sumDecimals() {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            if (amount.signum() > 0) {
+                income = income.add(amount);
+            } else {
+                expense = expense.add(amount);
+            }
+        }
+        return PeriodSummary.of(income, expense);
+    }
+
+    @Benchmark
+    public PeriodSummary sumMoney() {
+        Money income = Money.zero(Money.DEFAULT_CURRENCY);
+        Money expense = Money.zero(Money.DEFAULT_CURRENCY);
+        for (Money amount : monies) {
+            if (amount.signum() > 0) {
+                income = income.plus(amount);
+            } else {
+                expense = expense.plus(amount);
+            }
+        }
+        return PeriodSummary.of(income, expense);
+    }
+
+    @Benchmark
+    public PeriodSummary sumUnits() {
+        long income = 0;
+        long expense = 0;
+        for (long amount : units) {
+            if (amount > 0) {
+                income = Math.addExact(income, amount);
+            } else {
+                expense = Math.addExact(expense, amount);
+            }
+        }
+        return PeriodSummary.of(new Money(income, Money.DEFAULT_CURRENCY), new Money(expense, Money.DEFAULT_CURRENCY));
+    }
+
+    @Benchmark
+    public byte[] reportMapJson() throws JsonProcessingException {
+        Map<String, Object> report = new HashMap<>();
+        report.put("month", 12);
+        report.put("year", 2025);
+        report.put("totalIncome", summary.income());
+        report.put("totalExpense", summary.expense());
+        report.put("netAmount", summary.net());
+        return objectMapper.writeValueAsBytes(report);
+    }
+
+    @Benchmark
+    public byte[] reportRecordJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summary);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.newspring_backend.jmh;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.NewspringBackendApplication;
+import com.example.newspring_backend.benchmark.BenchmarkDataGenerator;
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.example.newspring_backend.service.MonthlySummaryService;
+
+/**
+ * The hot {@link TransactionRepository} queries against the Postgres configured
+ * in {@code application.properties}, seeded by {@link BenchmarkDataGenerator}
+ * with a fixed seed. The seeded user is removed again on tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final String EMAIL = "jmh-repository@example.com";
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 1_000;
+    private static final Sort NEWEST_FIRST = Sort.by("transactionDate").descending().and(Sort.by("id").descending());
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionRepository transactionRepository;
+    private MonthlySummaryRepository monthlySummaryRepository;
+    private BenchmarkDataGenerator.Seeded seeded;
+    private TransactionCursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NewspringBackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        monthlySummaryRepository = context.getBean(MonthlySummaryRepository.class);
+
+        // Left behind if an earlier run was killed before tear-down
+        jdbcTemplate.update("DELETE FROM app_user WHERE email = ?", EMAIL);
+        seeded = BenchmarkDataGenerator.seed(jdbcTemplate, EMAIL, rows, 42L);
+        context.getBean(MonthlySummaryService.class).rebuildUser(seeded.userId());
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+
+        // The cursor a client holds after reading pages 1 .. DEEP_PAGE-1, so both deep benchmarks read the same rows
+        List<TransactionResponse> before = transactionRepository
+            .findResponsesByUserId(seeded.userId(), PageRequest.of(DEEP_PAGE - 2, PAGE_SIZE, NEWEST_FIRST))
+            .getContent();
+        TransactionResponse last = before.get(before.size() - 1);
+        deepCursor = new TransactionCursor(last.transactionDate(), last.id());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (seeded != null) {
+            BenchmarkDataGenerator.delete(jdbcTemplate, seeded.userId());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TransactionResponse> offsetFirstPage() {
+        return transactionRepository.findResponsesByUserId(seeded.userId(), PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+    }
+
+    @Benchmark
+    public Page<TransactionResponse> offsetDeepPage() {
+        return transactionRepository.findResponsesByUserId(
+            seeded.userId(), PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, NEWEST_FIRST));
+    }
+
+    @Benchmark
+    public Slice<TransactionResponse> keysetDeepPage() {
+        return transactionRepository.findByUserAfter(
+            seeded.userId(), deepCursor.transactionDate(), deepCursor.id(), PageRequest.ofSize(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> latest() {
+        return transactionRepository.findLatestResponses(seeded.userId(), PageRequest.ofSize(5));
+    }
+
+    @Benchmark
+    public Page<TransactionResponse> filtered() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST);
+        LocalDate end = BenchmarkDataGenerator.END_DATE;
+        return transactionRepository.findResponses(new TransactionFilter(seeded.userId(), null,
+            seeded.categoryIds().get(2), end.minusMonths(6), end, null, new BigDecimal("-50.00")), pageable);
+    }
+
+    @Benchmark
+    public BigDecimal monthlyExpenseFromTransactions() {
+        LocalDate end = BenchmarkDataGenerator.END_DATE;
+        return transactionRepository.getTotalExpenseByMonth(seeded.userId(), end.getMonthValue(), end.getYear());
+    }
+
+    @Benchmark
+    public DashboardTotals dashboardTotalsFromRollup() {
+        LocalDate end = BenchmarkDataGenerator.END_DATE;
+        return monthlySummaryRepository.getDashboardTotals(seeded.userId(), end.getYear(), end.getMonthValue());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.newspring_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.newspring_backend.service.ReportCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class CacheConfig {
+
+    // Reports are invalidated by writes, not by time, so they get their own size-only spec
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> reportCacheCustomizer(
+            @Value("${reports.cache.maximum-size:50000}") long maximumSize) {
+        return cacheManager -> cacheManager.registerCustomCache(ReportCache.CACHE_NAME,
+            Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build());
+    }
+
+    // cache.hit.ratio{cache=...} next to the cache.gets counters Actuator already publishes
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache.getNativeCache(), c -> c.stats().hitRate())
+                    .tag("cache", name)
+                    .description("Fraction of lookups served from the cache")
+                    .register(registry);
+            }
+        });
+    }
+}
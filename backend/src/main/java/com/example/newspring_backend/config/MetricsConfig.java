@@ -0,0 +1,63 @@
+package com.example.newspring_backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics Spring Boot does not publish on its own. Request, repository and
+ * Hikari timers ({@code http.server.requests}, {@code spring.data.repository.invocations},
+ * {@code hikaricp.connections.*}) and the {@code hibernate.*} statistics are
+ * auto-configured; their SLO buckets are set in {@code application.properties}.
+ * Per-request SQL meters come from {@link SqlBudgetFilter}; cache hit ratios
+ * from {@link CacheConfig}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Share of the pool in use; with hikaricp.connections.pending > 0 the pool is saturated.
+    // With read replicas configured there is one gauge per pool
+    @Bean
+    public MeterBinder hikariUtilizationMetrics(DataSource dataSource, ObjectProvider<ReplicaRouter> replicaRouter) {
+        return registry -> {
+            List<HikariDataSource> pools = new ArrayList<>();
+            ReplicaRouter router = replicaRouter.getIfAvailable();
+            if (router != null) {
+                pools.add(router.primary());
+                pools.addAll(router.replicas().values());
+            } else {
+                HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+                if (hikari != null) {
+                    pools.add(hikari);
+                }
+            }
+            for (HikariDataSource hikari : pools) {
+                Gauge.builder("hikaricp.connections.utilization", hikari, MetricsConfig::utilization)
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .description("Active connections divided by the maximum pool size")
+                    .register(registry);
+            }
+        };
+    }
+
+    private static double utilization(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() == 0) {
+            return Double.NaN;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.newspring_backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the read-only transactions of the current thread on the primary, for
+ * work that must see its user's own recent writes. Opened per request by
+ * {@link ReplicaStickinessFilter}; without replicas configured it has no effect.
+ * <pre>
+ * try (ReadRouting primary = ReadRouting.pinToPrimary()) {
+ *     ... // read-only transactions here use the primary
+ * }
+ * </pre>
+ */
+public final class ReadRouting implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Boolean previous;
+
+    private ReadRouting(Boolean previous) {
+        this.previous = previous;
+    }
+
+    public static ReadRouting pinToPrimary() {
+        ReadRouting scope = new ReadRouting(PINNED.get());
+        PINNED.set(Boolean.TRUE);
+        return scope;
+    }
+
+    public static boolean pinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    // Wraps a task so it reads from the same place as the caller when run on another thread
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        if (!pinnedToPrimary()) {
+            return task;
+        }
+        return () -> {
+            try (ReadRouting primary = pinToPrimary()) {
+                return task.get();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            PINNED.set(previous);
+        } else {
+            PINNED.remove();
+        }
+    }
+}
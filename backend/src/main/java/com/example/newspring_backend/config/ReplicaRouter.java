@@ -0,0 +1,148 @@
+package com.example.newspring_backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.newspring_backend.service.TransactionsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Owns the primary and replica pools and decides where a read-only transaction
+ * goes: round robin over the replicas whose last measured lag is within
+ * {@code maxLag}, or the primary when none is. Users who wrote in the last
+ * {@code stickyAfterWrite} read from the primary so they see their own writes.
+ * Lag is measured every {@code datasource.replica.lag-check-interval}; a replica
+ * that cannot be reached, or is not streaming from the primary, counts as
+ * lagging until it is again.
+ */
+public class ReplicaRouter implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // Null unless the WAL receiver is streaming: a replica cut off from the primary replays what it received
+    // and then stops, which would otherwise read as no lag. Zero while a streaming replica has replayed
+    // everything it received, so an idle primary does not read as lag. Seeing the receiver's status needs
+    // pg_read_all_stats (e.g. via pg_monitor); without it every replica reads as disconnected.
+    private static final String LAG_SQL =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final List<String> replicaNames;
+    private final Duration maxLag;
+    private final Map<String, Duration> lag = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRouter(HikariDataSource primary, Map<String, HikariDataSource> replicas,
+                         Duration maxLag, Duration stickyAfterWrite) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(stickyAfterWrite).build();
+        // Measure once up front so replicas take reads as soon as the application is up
+        checkLag();
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public Map<String, HikariDataSource> replicas() {
+        return replicas;
+    }
+
+    // Lookup key for a read-only transaction
+    String readKey() {
+        for (int attempt = 0; attempt < replicaNames.size(); attempt++) {
+            String name = replicaNames.get(Math.floorMod(next.getAndIncrement(), replicaNames.size()));
+            Duration replicaLag = lag.get(name);
+            if (replicaLag != null && replicaLag.compareTo(maxLag) <= 0) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // Last measured lag, or null while the replica is unreachable or disconnected
+    public Duration lag(String replica) {
+        return lag.get(replica);
+    }
+
+    public void markWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // Transaction writes reach here even when the request did not name the user (e.g. by account id)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        markWrite(event.userId());
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:1s}",
+               initialDelayString = "${datasource.replica.lag-check-interval:1s}")
+    public void checkLag() {
+        replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                double seconds = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    recordUnavailable(name, "WAL receiver is not streaming");
+                } else {
+                    recordLag(name, Duration.ofMillis(Math.round(seconds * 1000)));
+                }
+            } catch (SQLException e) {
+                recordUnavailable(name, e.toString());
+            }
+        });
+    }
+
+    void recordUnavailable(String replica, String reason) {
+        if (lag.remove(replica) != null) {
+            log.warn("Replica {} unavailable, reading from the primary: {}", replica, reason);
+        }
+    }
+
+    void recordLag(String replica, Duration replicaLag) {
+        Duration previous = lag.put(replica, replicaLag);
+        boolean healthy = replicaLag.compareTo(maxLag) <= 0;
+        if (previous == null || healthy != previous.compareTo(maxLag) <= 0) {
+            log.info("Replica {} lag {}, {}", replica, replicaLag, healthy ? "taking reads" : "skipped until it catches up");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.newspring_backend.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Read replicas, active when {@code datasource.replica.urls} is set. Replaces
+ * the auto-configured pool with a primary pool built from {@code spring.datasource.*}
+ * and one pool per replica URL, all sharing the {@code spring.datasource.hikari.*}
+ * settings, behind a single routing {@code DataSource}: read-only transactions go
+ * to a replica, the rest to the primary (see {@link ReplicaRouter}). Each pool
+ * connects with its name as {@code application_name}, so {@code pg_stat_activity}
+ * shows which one a session belongs to.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties properties, Environment environment, MeterRegistry registry,
+                                       @Value("${datasource.replica.urls}") List<String> urls,
+                                       @Value("${datasource.replica.username:}") String username,
+                                       @Value("${datasource.replica.password:}") String password,
+                                       @Value("${datasource.replica.max-lag:2s}") Duration maxLag,
+                                       @Value("${datasource.replica.sticky-after-write:5s}") Duration stickyAfterWrite) {
+        HikariDataSource primary = pool(ReplicaRouter.PRIMARY, properties, environment, registry,
+            properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            replicas.put(name, pool(name, properties, environment, registry, url,
+                username.isEmpty() ? properties.determineUsername() : username,
+                password.isEmpty() ? properties.determinePassword() : password));
+        }
+        return new ReplicaRouter(primary, replicas, maxLag, stickyAfterWrite);
+    }
+
+    // The only DataSource bean, so the SQL monitoring proxy wraps it once and sees every pool's statements
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter router) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(router));
+    }
+
+    @Bean
+    public ReplicaStickinessFilter replicaStickinessFilter(ReplicaRouter router) {
+        return new ReplicaStickinessFilter(router);
+    }
+
+    // Seconds behind the primary as last measured; NaN while unreachable
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaRouter router) {
+        return registry -> router.replicas().keySet().forEach(name ->
+            Gauge.builder("datasource.replica.lag", router, r -> {
+                    Duration lag = r.lag(name);
+                    return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+                })
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .description("Replication lag of the replica at its last check")
+                .register(registry));
+    }
+
+    private static HikariDataSource pool(String name, DataSourceProperties properties, Environment environment,
+                                         MeterRegistry registry, String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.addDataSourceProperty("ApplicationName", name);
+        pool.setMetricRegistry(registry);
+        return pool;
+    }
+}
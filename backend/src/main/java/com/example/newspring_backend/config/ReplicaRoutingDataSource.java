@@ -0,0 +1,36 @@
+package com.example.newspring_backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a replica chosen by {@link ReplicaRouter} and
+ * everything else, including work outside a transaction, to the primary. Must
+ * sit behind a {@code LazyConnectionDataSourceProxy}: the transaction manager
+ * asks for a connection before it marks the transaction read-only, and the proxy
+ * defers the real lookup to the first statement.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter router;
+
+    ReplicaRoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+        Map<Object, Object> targets = new HashMap<>(router.replicas());
+        targets.put(ReplicaRouter.PRIMARY, router.primary());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(router.primary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadRouting.pinnedToPrimary()) {
+            return ReplicaRouter.PRIMARY;
+        }
+        return router.readKey();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.newspring_backend.config;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes for replica reads. The user of an API request is taken from
+ * its {@code userId} parameter or a {@code /user/{id}} or {@code /users/{id}}
+ * path segment. Write requests read from the primary throughout and, when they
+ * succeed, make their user sticky; requests of a sticky user read from the
+ * primary too.
+ */
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("/users?/(\\d+)(?:/|$)");
+
+    private final ReplicaRouter router;
+
+    public ReplicaStickinessFilter(ReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = userOf(request);
+        boolean write = !isRead(request.getMethod());
+        if (!write && !router.isSticky(userId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadRouting primary = ReadRouting.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+        if (write && response.getStatus() < 400) {
+            router.markWrite(userId);
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    static Long userOf(HttpServletRequest request) {
+        String param = request.getParameter("userId");
+        if (param != null) {
+            try {
+                return Long.valueOf(param);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        Matcher path = USER_PATH.matcher(request.getRequestURI());
+        return path.find() ? Long.valueOf(path.group(1)) : null;
+    }
+}
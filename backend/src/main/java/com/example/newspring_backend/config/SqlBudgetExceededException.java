@@ -0,0 +1,12 @@
+package com.example.newspring_backend.config;
+
+/**
+ * Thrown by {@link SqlBudgetFilter} in {@code fail} mode when a request goes
+ * over its SQL budget.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.newspring_backend.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link SqlStatementScope} per API request, records
+ * {@code sql.statements.per.request} and {@code sql.time.per.request}, and
+ * checks the request against the SQL budget: a statement count, a total
+ * database time and a limit on how often one statement may repeat. An
+ * over-budget request is logged as a warning, or in {@code fail} mode fails
+ * with {@link SqlBudgetExceededException} so integration tests catch regressions.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 3, 5, 10, 25, 50, 100};
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final MeterRegistry registry;
+    private final int maxStatements;
+    private final Duration maxTime;
+    private final int maxRepeats;
+    private final boolean failOnViolation;
+    private final List<String> excludedPaths;
+
+    public SqlBudgetFilter(MeterRegistry registry, int maxStatements, Duration maxTime, int maxRepeats,
+                           boolean failOnViolation, List<String> excludedPaths) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+        this.maxRepeats = maxRepeats;
+        this.failOnViolation = failOnViolation;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementScope sql = SqlStatementScope.open();
+        String uri = "UNKNOWN";
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sql.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            uri = pattern != null ? pattern.toString() : uri;
+            record(request.getMethod(), uri, sql);
+        }
+        if (isExcluded(request.getRequestURI())) {
+            return;
+        }
+        List<String> violations = violations(sql);
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "SQL budget exceeded: " + request.getMethod() + " " + uri + " " + violations;
+        if (failOnViolation) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.atWarn()
+            .addKeyValue("method", request.getMethod())
+            .addKeyValue("uri", uri)
+            .addKeyValue("statements", sql.statements())
+            .addKeyValue("dbTimeMs", sql.time().toMillis())
+            .addKeyValue("repeated", sql.repeatedMoreThan(maxRepeats).size())
+            .log(message);
+    }
+
+    private void record(String method, String uri, SqlStatementScope sql) {
+        DistributionSummary.builder("sql.statements.per.request")
+            .description("SQL statements executed per API request")
+            .tags("method", method, "uri", uri)
+            .serviceLevelObjectives(STATEMENT_BUCKETS)
+            .register(registry)
+            .record(sql.statements());
+        Timer.builder("sql.time.per.request")
+            .description("Time spent executing SQL per API request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(sql.time().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private List<String> violations(SqlStatementScope sql) {
+        List<String> violations = new ArrayList<>();
+        if (sql.statements() > maxStatements) {
+            violations.add("statements " + sql.statements() + " > " + maxStatements);
+        }
+        if (sql.time().compareTo(maxTime) > 0) {
+            violations.add("db time " + sql.time().toMillis() + "ms > " + maxTime.toMillis() + "ms");
+        }
+        for (Map.Entry<String, Integer> repeated : sql.repeatedMoreThan(maxRepeats).entrySet()) {
+            violations.add("repeated " + repeated.getValue() + "x: " + repeated.getKey());
+        }
+        return violations;
+    }
+
+    private boolean isExcluded(String path) {
+        return excludedPaths.stream().anyMatch(pattern -> PATHS.match(pattern, path));
+    }
+}
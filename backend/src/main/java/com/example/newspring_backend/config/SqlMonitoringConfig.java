@@ -0,0 +1,75 @@
+package com.example.newspring_backend.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Routes every JDBC statement through a datasource proxy that reports it to
+ * the current {@link SqlStatementScope}, and installs the per-request
+ * {@link SqlBudgetFilter}. Statements outside a scope cost one thread-local read.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    private static final String STARTED = SqlMonitoringConfig.class.getName() + ".started";
+
+    // Static so the post-processor does not pull this configuration in early
+    @Bean
+    public static BeanPostProcessor sqlStatementProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new ScopeListener())
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlBudgetFilter sqlBudgetFilter(MeterRegistry registry,
+                                           @Value("${sql.budget.max-statements:20}") int maxStatements,
+                                           @Value("${sql.budget.max-time:500ms}") Duration maxTime,
+                                           @Value("${sql.budget.max-repeats:10}") int maxRepeats,
+                                           @Value("${sql.budget.mode:log}") String mode,
+                                           @Value("${sql.budget.excluded-paths:}") List<String> excludedPaths) {
+        return new SqlBudgetFilter(registry, maxStatements, maxTime, maxRepeats, "fail".equals(mode), excludedPaths);
+    }
+
+    private static final class ScopeListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (SqlStatementScope.active()) {
+                execInfo.addCustomValue(STARTED, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long started = execInfo.getCustomValue(STARTED, Long.class);
+            if (started != null) {
+                SqlStatementScope.record(
+                    queryInfoList.stream().map(QueryInfo::getQuery).toList(), System.nanoTime() - started);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.newspring_backend.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The SQL one unit of work ran, usually one HTTP request: statement count,
+ * time spent in the database and how often each distinct statement ran. Fed by
+ * the datasource proxy from {@link SqlMonitoringConfig} for the scope bound to
+ * the current thread.
+ *
+ * <p>Scopes nest, and an inner scope also counts toward the enclosing ones, so
+ * a test can wrap MockMvc calls whose requests open scopes of their own:
+ * <pre>
+ * try (SqlStatementScope sql = SqlStatementScope.open()) {
+ *     mockMvc.perform(get("/api/..."));
+ *     assertThat(sql.statements()).isEqualTo(1);
+ * }
+ * </pre>
+ */
+public final class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementScope parent;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    private SqlStatementScope(SqlStatementScope parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementScope open() {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(List<String> sql, long elapsedNanos) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements.addAndGet(sql.size());
+            scope.nanos.addAndGet(elapsedNanos);
+            for (String statement : sql) {
+                scope.executions.computeIfAbsent(statement, s -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+
+    // Wraps a task so the SQL it runs on another thread counts toward the caller's scope
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        SqlStatementScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            SqlStatementScope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos.get());
+    }
+
+    // Statements that ran more than maxRepeats times, most frequent first: the N+1 signature
+    public Map<String, Integer> repeatedMoreThan(int maxRepeats) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.entrySet().stream()
+            .filter(e -> e.getValue().get() > maxRepeats)
+            .sorted((a, b) -> Integer.compare(b.getValue().get(), a.getValue().get()))
+            .forEach(e -> repeated.put(e.getKey(), e.getValue().get()));
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        restore(parent);
+    }
+
+    private static void restore(SqlStatementScope scope) {
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
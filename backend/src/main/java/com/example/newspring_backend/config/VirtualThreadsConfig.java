@@ -0,0 +1,21 @@
+package com.example.newspring_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Guard for the {@code virtual-threads} profile: on a JVM older than 21 Spring
+ * Boot silently ignores {@code spring.threads.virtual.enabled}, so refuse to
+ * start rather than benchmark platform threads by mistake.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException(
+                "The virtual-threads profile needs Java 21+ (build with -Pjava21), running on " + Runtime.version());
+        }
+    }
+}
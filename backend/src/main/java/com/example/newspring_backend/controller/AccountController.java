@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,10 +19,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.newspring_backend.dto.AccountDetailResponse;
+import com.example.newspring_backend.dto.AccountResponse;
 import com.example.newspring_backend.entity.Account;
 import com.example.newspring_backend.entity.User;
 import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.LikePatterns;
+import com.example.newspring_backend.repository.TransactionRepository;
 import com.example.newspring_backend.repository.UserRepository;
+import com.example.newspring_backend.service.TransactionsChangedEvent;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -34,33 +40,40 @@ public class AccountController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // GET /api/accounts - Get all accounts
     @GetMapping
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
+    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
+        List<AccountResponse> accounts = accountRepository.findAllResponses();
         return ResponseEntity.ok(accounts);
     }
 
     // GET /api/accounts/user/{userId} - Get accounts by user
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Account>> getAccountsByUser(@PathVariable Long userId) {
-        List<Account> accounts = accountRepository.findByUserId(userId);
+    public ResponseEntity<List<AccountResponse>> getAccountsByUser(@PathVariable Long userId) {
+        List<AccountResponse> accounts = accountRepository.findResponsesByUserId(userId);
         return ResponseEntity.ok(accounts);
     }
 
     // GET /api/accounts/{id} - Get account by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getAccountById(@PathVariable Long id) {
-        Optional<Account> account = accountRepository.findById(id);
+    public ResponseEntity<AccountResponse> getAccountById(@PathVariable Long id) {
+        Optional<AccountResponse> account = accountRepository.findResponseById(id);
         return account.map(ResponseEntity::ok)
                      .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/accounts/{id}/with-transactions - Get account with transactions
     @GetMapping("/{id}/with-transactions")
-    public ResponseEntity<Account> getAccountWithTransactions(@PathVariable Long id) {
-        Optional<Account> account = accountRepository.findByIdWithTransactions(id);
-        return account.map(ResponseEntity::ok)
+    public ResponseEntity<AccountDetailResponse> getAccountWithTransactions(@PathVariable Long id) {
+        Optional<AccountResponse> account = accountRepository.findResponseById(id);
+        return account.map(a -> ResponseEntity.ok(
+                          new AccountDetailResponse(a, transactionRepository.findAllResponsesByAccountId(id))))
                      .orElse(ResponseEntity.notFound().build());
     }
 
@@ -73,28 +86,28 @@ public class AccountController {
 
     // GET /api/accounts/user/{userId}/search?name=savings - Search accounts by name
     @GetMapping("/user/{userId}/search")
-    public ResponseEntity<List<Account>> searchAccounts(@PathVariable Long userId, @RequestParam String name) {
-        List<Account> accounts = accountRepository.findByUserIdAndNameContainingIgnoreCase(userId, name);
+    public ResponseEntity<List<AccountResponse>> searchAccounts(@PathVariable Long userId, @RequestParam String name) {
+        List<AccountResponse> accounts = accountRepository.searchResponses(userId, LikePatterns.contains(name));
         return ResponseEntity.ok(accounts);
     }
 
     // GET /api/accounts/user/{userId}/currency/{currency} - Get accounts by currency
     @GetMapping("/user/{userId}/currency/{currency}")
-    public ResponseEntity<List<Account>> getAccountsByCurrency(@PathVariable Long userId, @PathVariable String currency) {
-        List<Account> accounts = accountRepository.findByUserIdAndCurrency(userId, currency);
+    public ResponseEntity<List<AccountResponse>> getAccountsByCurrency(@PathVariable Long userId, @PathVariable String currency) {
+        List<AccountResponse> accounts = accountRepository.findResponsesByUserIdAndCurrency(userId, currency);
         return ResponseEntity.ok(accounts);
     }
 
     // GET /api/accounts/user/{userId}/low-balance?threshold=100 - Get low balance accounts
     @GetMapping("/user/{userId}/low-balance")
-    public ResponseEntity<List<Account>> getLowBalanceAccounts(@PathVariable Long userId, @RequestParam BigDecimal threshold) {
-        List<Account> accounts = accountRepository.findByUserIdAndBalanceLessThan(userId, threshold);
+    public ResponseEntity<List<AccountResponse>> getLowBalanceAccounts(@PathVariable Long userId, @RequestParam BigDecimal threshold) {
+        List<AccountResponse> accounts = accountRepository.findResponsesByUserIdAndBalanceLessThan(userId, threshold);
         return ResponseEntity.ok(accounts);
     }
 
     // POST /api/accounts - Create new account
     @PostMapping
-    public ResponseEntity<Account> createAccount(@RequestBody Account account, @RequestParam Long userId) {
+    public ResponseEntity<AccountResponse> createAccount(@RequestBody Account account, @RequestParam Long userId) {
         // Find the user
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -108,19 +121,19 @@ public class AccountController {
 
         account.setUser(userOpt.get());
         Account savedAccount = accountRepository.save(account);
-        return ResponseEntity.ok(savedAccount);
+        return ResponseEntity.ok(AccountResponse.from(savedAccount));
     }
 
     // PUT /api/accounts/{id} - Update account
     @PutMapping("/{id}")
-    public ResponseEntity<Account> updateAccount(@PathVariable Long id, @RequestBody Account accountDetails) {
+    public ResponseEntity<AccountResponse> updateAccount(@PathVariable Long id, @RequestBody Account accountDetails) {
         return accountRepository.findById(id)
             .map(account -> {
                 account.setName(accountDetails.getName());
                 account.setCurrency(accountDetails.getCurrency());
-                account.setBalance(accountDetails.getBalance());
+                // Balance is maintained by transaction writes, not by clients
                 account.setUpdatedAt(LocalDateTime.now());
-                return ResponseEntity.ok(accountRepository.save(account));
+                return ResponseEntity.ok(AccountResponse.from(accountRepository.save(account)));
             })
             .orElse(ResponseEntity.notFound().build());
     }
@@ -131,6 +144,8 @@ public class AccountController {
         return accountRepository.findById(id)
             .map(account -> {
                 accountRepository.delete(account);
+                // Its transactions and rollup rows are deleted with it
+                eventPublisher.publishEvent(TransactionsChangedEvent.allPeriods(account.getUser().getId()));
                 return ResponseEntity.ok().build();
             })
             .orElse(ResponseEntity.notFound().build());
@@ -16,10 +16,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.newspring_backend.dto.CategoryDetailResponse;
+import com.example.newspring_backend.dto.CategoryResponse;
 import com.example.newspring_backend.entity.Category;
 import com.example.newspring_backend.entity.User;
 import com.example.newspring_backend.repository.CategoryRepository;
+import com.example.newspring_backend.repository.LikePatterns;
+import com.example.newspring_backend.repository.TransactionRepository;
 import com.example.newspring_backend.repository.UserRepository;
+import com.example.newspring_backend.service.CategoryService;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -32,63 +37,70 @@ public class CategoryController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
     // GET /api/categories - Get all categories
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
+    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+        List<CategoryResponse> categories = categoryRepository.findAllResponses();
         return ResponseEntity.ok(categories);
     }
 
     // GET /api/categories/user/{userId} - Get categories by user
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Category>> getCategoriesByUser(@PathVariable Long userId) {
-        List<Category> categories = categoryRepository.findByUserId(userId);
+    public ResponseEntity<List<CategoryResponse>> getCategoriesByUser(@PathVariable Long userId) {
+        List<CategoryResponse> categories = categoryRepository.findResponsesByUserId(userId);
         return ResponseEntity.ok(categories);
     }
 
     // GET /api/categories/user/{userId}/income - Get income categories
     @GetMapping("/user/{userId}/income")
-    public ResponseEntity<List<Category>> getIncomeCategories(@PathVariable Long userId) {
-        List<Category> categories = categoryRepository.findIncomeCategories(userId);
+    public ResponseEntity<List<CategoryResponse>> getIncomeCategories(@PathVariable Long userId) {
+        List<CategoryResponse> categories = categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.INCOME);
         return ResponseEntity.ok(categories);
     }
 
     // GET /api/categories/user/{userId}/expense - Get expense categories
     @GetMapping("/user/{userId}/expense")
-    public ResponseEntity<List<Category>> getExpenseCategories(@PathVariable Long userId) {
-        List<Category> categories = categoryRepository.findExpenseCategories(userId);
+    public ResponseEntity<List<CategoryResponse>> getExpenseCategories(@PathVariable Long userId) {
+        List<CategoryResponse> categories = categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.EXPENSE);
         return ResponseEntity.ok(categories);
     }
 
     // GET /api/categories/{id} - Get category by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        Optional<Category> category = categoryRepository.findById(id);
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
+        Optional<CategoryResponse> category = categoryRepository.findResponseById(id);
         return category.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/categories/{id}/with-transactions - Get category with transactions
     @GetMapping("/{id}/with-transactions")
-    public ResponseEntity<Category> getCategoryWithTransactions(@PathVariable Long id) {
-        Optional<Category> category = categoryRepository.findByIdWithTransactions(id);
-        return category.map(ResponseEntity::ok)
+    public ResponseEntity<CategoryDetailResponse> getCategoryWithTransactions(@PathVariable Long id) {
+        Optional<CategoryResponse> category = categoryRepository.findResponseById(id);
+        return category.map(c -> ResponseEntity.ok(
+                           new CategoryDetailResponse(c, transactionRepository.findAllResponsesByCategoryId(id))))
                       .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/categories/user/{userId}/search?name=food - Search categories
     @GetMapping("/user/{userId}/search")
-    public ResponseEntity<List<Category>> searchCategories(@PathVariable Long userId, @RequestParam String name) {
-        List<Category> categories = categoryRepository.findByUserIdAndNameContainingIgnoreCase(userId, name);
+    public ResponseEntity<List<CategoryResponse>> searchCategories(@PathVariable Long userId, @RequestParam String name) {
+        List<CategoryResponse> categories = categoryRepository.searchResponses(userId, LikePatterns.contains(name));
         return ResponseEntity.ok(categories);
     }
 
     // GET /api/categories/user/{userId}/type/{type} - Get categories by type
     @GetMapping("/user/{userId}/type/{type}")
-    public ResponseEntity<List<Category>> getCategoriesByType(@PathVariable Long userId, @PathVariable String type) {
+    public ResponseEntity<List<CategoryResponse>> getCategoriesByType(@PathVariable Long userId, @PathVariable String type) {
         try {
             Category.CategoryType categoryType = Category.CategoryType.valueOf(type.toUpperCase());
-            List<Category> categories = categoryRepository.findByUserIdAndType(userId, categoryType);
+            List<CategoryResponse> categories = categoryRepository.findResponsesByUserIdAndType(userId, categoryType);
             return ResponseEntity.ok(categories);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -109,7 +121,7 @@ public class CategoryController {
 
     // POST /api/categories - Create new category
     @PostMapping
-    public ResponseEntity<Category> createCategory(@RequestBody Category category, @RequestParam Long userId) {
+    public ResponseEntity<CategoryResponse> createCategory(@RequestBody Category category, @RequestParam Long userId) {
         // Find the user
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -123,19 +135,19 @@ public class CategoryController {
 
         category.setUser(userOpt.get());
         Category savedCategory = categoryRepository.save(category);
-        return ResponseEntity.ok(savedCategory);
+        return ResponseEntity.ok(CategoryResponse.from(savedCategory));
     }
 
     // PUT /api/categories/{id} - Update category
     @PutMapping("/{id}")
-    public ResponseEntity<Category> updateCategory(@PathVariable Long id, @RequestBody Category categoryDetails) {
+    public ResponseEntity<CategoryResponse> updateCategory(@PathVariable Long id, @RequestBody Category categoryDetails) {
         return categoryRepository.findById(id)
             .map(category -> {
                 category.setName(categoryDetails.getName());
                 category.setType(categoryDetails.getType());
                 category.setColor(categoryDetails.getColor());
                 category.setIcon(categoryDetails.getIcon());
-                return ResponseEntity.ok(categoryRepository.save(category));
+                return ResponseEntity.ok(CategoryResponse.from(categoryRepository.save(category)));
             })
             .orElse(ResponseEntity.notFound().build());
     }
@@ -143,11 +155,6 @@ public class CategoryController {
     // DELETE /api/categories/{id} - Delete category
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
-        return categoryRepository.findById(id)
-            .map(category -> {
-                categoryRepository.delete(category);
-                return ResponseEntity.ok().build();
-            })
-            .orElse(ResponseEntity.notFound().build());
+        return categoryService.delete(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -1,19 +1,28 @@
 package com.example.newspring_backend.controller;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.example.newspring_backend.repository.TransactionRepository;
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.DashboardReport;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.service.DashboardFeed;
+import com.example.newspring_backend.service.DashboardReportService;
+import com.example.newspring_backend.service.ReportService;
+import com.example.newspring_backend.service.TimeseriesReportService;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -21,7 +30,16 @@ import com.example.newspring_backend.repository.TransactionRepository;
 public class ReportsController {
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private ReportService reportService;
+
+    @Autowired
+    private DashboardReportService dashboardReportService;
+
+    @Autowired
+    private TimeseriesReportService timeseriesReportService;
+
+    @Autowired
+    private DashboardFeed dashboardFeed;
 
     // GET /api/reports/monthly?userId=1&year=2024&month=10 - Monthly summary
     @GetMapping("/monthly")
@@ -30,16 +48,14 @@ public class ReportsController {
             @RequestParam int year,
             @RequestParam int month) {
 
-        BigDecimal income = transactionRepository.getTotalIncomeByMonth(userId, month, year);
-        BigDecimal expense = transactionRepository.getTotalExpenseByMonth(userId, month, year);
+        PeriodSummary summary = reportService.getMonthlySummary(userId, year, month);
         
         Map<String, Object> report = new HashMap<>();
         report.put("month", month);
         report.put("year", year);
-        report.put("totalIncome", income != null ? income : BigDecimal.ZERO);
-        report.put("totalExpense", expense != null ? expense.abs() : BigDecimal.ZERO);
-        report.put("netAmount", (income != null ? income : BigDecimal.ZERO)
-                                .add(expense != null ? expense : BigDecimal.ZERO));
+        report.put("totalIncome", summary.income());
+        report.put("totalExpense", summary.expense());
+        report.put("netAmount", summary.net());
         
         return ResponseEntity.ok(report);
     }
@@ -50,15 +66,13 @@ public class ReportsController {
             @RequestParam Long userId,
             @RequestParam int year) {
 
-        BigDecimal income = transactionRepository.getTotalIncomeByYear(userId, year);
-        BigDecimal expense = transactionRepository.getTotalExpenseByYear(userId, year);
+        PeriodSummary summary = reportService.getYearlySummary(userId, year);
         
         Map<String, Object> report = new HashMap<>();
         report.put("year", year);
-        report.put("totalIncome", income != null ? income : BigDecimal.ZERO);
-        report.put("totalExpense", expense != null ? expense.abs() : BigDecimal.ZERO);
-        report.put("netAmount", (income != null ? income : BigDecimal.ZERO)
-                                .add(expense != null ? expense : BigDecimal.ZERO));
+        report.put("totalIncome", summary.income());
+        report.put("totalExpense", summary.expense());
+        report.put("netAmount", summary.net());
         
         return ResponseEntity.ok(report);
     }
@@ -71,56 +85,56 @@ public class ReportsController {
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
 
-        BigDecimal total = transactionRepository.getTotalByCategory(userId, categoryId, startDate, endDate);
+        Money total = reportService.getCategoryTotal(userId, categoryId, startDate, endDate);
         
         Map<String, Object> report = new HashMap<>();
         report.put("categoryId", categoryId);
         report.put("startDate", startDate);
         report.put("endDate", endDate);
-        report.put("total", total != null ? total : BigDecimal.ZERO);
+        report.put("total", total);
         
         return ResponseEntity.ok(report);
     }
 
+    // GET /api/reports/timeseries?userId=1&from=2024-01-01&to=2024-12-31&bucket=month&groupBy=category
+    // - Every bucket of the range in one streamed response
+    @GetMapping("/timeseries")
+    public ResponseEntity<StreamingResponseBody> getTimeseries(
+            @RequestParam Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String bucket,
+            @RequestParam(required = false) String groupBy) {
+        TimeseriesReportService.Bucket timeseriesBucket;
+        TimeseriesReportService.GroupBy timeseriesGroupBy;
+        try {
+            timeseriesBucket = TimeseriesReportService.Bucket.parse(bucket);
+            timeseriesGroupBy = TimeseriesReportService.GroupBy.parse(groupBy);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> timeseriesReportService.write(
+            out, userId, from, to, timeseriesBucket, timeseriesGroupBy);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
     // GET /api/reports/dashboard?userId=1 - Dashboard summary
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardReport(@RequestParam Long userId) {
-        int currentYear = LocalDate.now().getYear();
-        int currentMonth = LocalDate.now().getMonthValue();
-        
-        // Current month data
-        BigDecimal monthlyIncome = transactionRepository.getTotalIncomeByMonth(userId, currentMonth, currentYear);
-        BigDecimal monthlyExpense = transactionRepository.getTotalExpenseByMonth(userId, currentMonth, currentYear);
-        
-        // Current year data
-        BigDecimal yearlyIncome = transactionRepository.getTotalIncomeByYear(userId, currentYear);
-        BigDecimal yearlyExpense = transactionRepository.getTotalExpenseByYear(userId, currentYear);
-        
-        // Transaction counts
-        long totalTransactions = transactionRepository.countByAccountUserId(userId);
-        
-        Map<String, Object> dashboard = new HashMap<>();
-        
-        // Monthly summary
-        Map<String, Object> monthly = new HashMap<>();
-        monthly.put("income", monthlyIncome != null ? monthlyIncome : BigDecimal.ZERO);
-        monthly.put("expense", monthlyExpense != null ? monthlyExpense.abs() : BigDecimal.ZERO);
-        monthly.put("net", (monthlyIncome != null ? monthlyIncome : BigDecimal.ZERO)
-                          .add(monthlyExpense != null ? monthlyExpense : BigDecimal.ZERO));
-        
-        // Yearly summary
-        Map<String, Object> yearly = new HashMap<>();
-        yearly.put("income", yearlyIncome != null ? yearlyIncome : BigDecimal.ZERO);
-        yearly.put("expense", yearlyExpense != null ? yearlyExpense.abs() : BigDecimal.ZERO);
-        yearly.put("net", (yearlyIncome != null ? yearlyIncome : BigDecimal.ZERO)
-                         .add(yearlyExpense != null ? yearlyExpense : BigDecimal.ZERO));
-        
-        dashboard.put("currentMonth", monthly);
-        dashboard.put("currentYear", yearly);
-        dashboard.put("totalTransactions", totalTransactions);
-        dashboard.put("month", currentMonth);
-        dashboard.put("year", currentYear);
-        
-        return ResponseEntity.ok(dashboard);
+    public ResponseEntity<DashboardReport> getDashboardReport(@RequestParam Long userId) {
+        return ResponseEntity.ok(dashboardReportService.getDashboard(userId, LocalDate.now()));
+    }
+
+    // GET /api/reports/dashboard/stream?userId=1 - Server-Sent Events: "delta" with a month's change to
+    // income, expense, net and count after each committed write, "refresh" when the dashboard must be re-fetched
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard(@RequestParam Long userId) {
+        return dashboardFeed.subscribe(userId);
     }
 }
\ No newline at end of file
@@ -1,16 +1,22 @@
 package com.example.newspring_backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,31 +28,45 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.example.newspring_backend.entity.Account;
-import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.dto.CursorPage;
+import com.example.newspring_backend.dto.ImportResult;
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.dto.TransactionResponse;
 import com.example.newspring_backend.entity.Transaction;
-import com.example.newspring_backend.repository.AccountRepository;
-import com.example.newspring_backend.repository.CategoryRepository;
 import com.example.newspring_backend.repository.TransactionRepository;
+import com.example.newspring_backend.service.TransactionExportService;
+import com.example.newspring_backend.service.TransactionImportService;
+import com.example.newspring_backend.service.TransactionSearchService;
+import com.example.newspring_backend.service.TransactionService;
 
 @RestController
 @RequestMapping("/api/transactions")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TransactionController {
 
+    private static final Set<String> SORTABLE = Set.of("transactionDate");
+
     @Autowired
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private AccountRepository accountRepository;
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private TransactionSearchService transactionSearchService;
 
     // GET /api/transactions - Get all transactions with pagination and filtering
     @GetMapping
-    public ResponseEntity<Page<Transaction>> getAllTransactions(
+    public ResponseEntity<Page<TransactionResponse>> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "transactionDate") String sortBy,
@@ -59,19 +79,22 @@ public class TransactionController {
             @RequestParam(required = false) BigDecimal minAmount,
             @RequestParam(required = false) BigDecimal maxAmount) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-            Sort.by(sortBy).descending() : 
-            Sort.by(sortBy).ascending();
+        Sort sort;
+        try {
+            sort = indexedSort(sortBy, sortDir);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Transaction> transactions;
+        Page<TransactionResponse> transactions;
 
         if (userId != null) {
-            transactions = transactionRepository.findTransactionsWithFilters(
-                userId, accountId, categoryId, startDate, endDate, minAmount, maxAmount, pageable);
+            transactions = transactionRepository.findResponses(new TransactionFilter(
+                userId, accountId, categoryId, startDate, endDate, minAmount, maxAmount), pageable);
         } else {
-            transactions = transactionRepository.findAll(pageable);
+            transactions = transactionRepository.findAllResponses(pageable);
         }
 
         return ResponseEntity.ok(transactions);
@@ -79,134 +102,251 @@ public class TransactionController {
 
     // GET /api/transactions/user/{userId} - Get transactions by user
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Page<Transaction>> getTransactionsByUser(
+    public ResponseEntity<Page<TransactionResponse>> getTransactionsByUser(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "transactionDate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-            Sort.by(sortBy).descending() : 
-            Sort.by(sortBy).ascending();
+        Sort sort;
+        try {
+            sort = indexedSort(sortBy, sortDir);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Transaction> transactions = transactionRepository.findByAccountUserId(userId, pageable);
+        Page<TransactionResponse> transactions = transactionRepository.findResponsesByUserId(userId, pageable);
         
         return ResponseEntity.ok(transactions);
     }
 
+    // GET /api/transactions/user/{userId}/export?format=csv|ndjson - Stream the user's (filtered) history
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> transactionExportService.export(
+            exportFormat, out, userId, accountId, categoryId, startDate, endDate, minAmount, maxAmount);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions-" + userId + "." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
     // GET /api/transactions/user/{userId}/recent - Get recent transactions
     @GetMapping("/user/{userId}/recent")
-    public ResponseEntity<Page<Transaction>> getRecentTransactions(
+    public ResponseEntity<Page<TransactionResponse>> getRecentTransactions(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "5") int size) {
 
         Pageable pageable = PageRequest.of(0, size);
-        Page<Transaction> transactions = transactionRepository.findRecentTransactions(userId, pageable);
+        Page<TransactionResponse> transactions = transactionRepository.findRecentResponses(userId, pageable);
         
         return ResponseEntity.ok(transactions);
     }
 
+    // GET /api/transactions/scroll?userId=1&cursor=... - Keyset-paginated listing with the same filters, newest first
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<TransactionResponse>> scrollTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+        try {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            Slice<TransactionResponse> transactions = transactionRepository.findResponsesAfter(new TransactionFilter(
+                userId, accountId, categoryId, startDate, endDate, minAmount, maxAmount), after, size);
+            return ResponseEntity.ok(toCursorPage(transactions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/transactions/user/{userId}/scroll?cursor=... - Keyset-paginated transactions by user
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPage<TransactionResponse>> scrollTransactionsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            Slice<TransactionResponse> transactions = transactionRepository.findByUserAfter(
+                userId, after.transactionDate(), after.id(), PageRequest.ofSize(size));
+            return ResponseEntity.ok(toCursorPage(transactions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // GET /api/transactions/{id} - Get transaction by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getTransactionById(@PathVariable Long id) {
-        Optional<Transaction> transaction = transactionRepository.findById(id);
+    public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable Long id) {
+        Optional<TransactionResponse> transaction = transactionRepository.findResponseById(id);
         return transaction.map(ResponseEntity::ok)
                          .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/transactions/account/{accountId} - Get transactions by account
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<Page<Transaction>> getTransactionsByAccount(
+    public ResponseEntity<Page<TransactionResponse>> getTransactionsByAccount(
             @PathVariable Long accountId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByAccountId(accountId, pageable);
+        Page<TransactionResponse> transactions = transactionRepository.findResponsesByAccountId(accountId, pageable);
         
         return ResponseEntity.ok(transactions);
     }
 
     // GET /api/transactions/category/{categoryId} - Get transactions by category
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<Transaction>> getTransactionsByCategory(
+    public ResponseEntity<Page<TransactionResponse>> getTransactionsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByCategoryId(categoryId, pageable);
+        Page<TransactionResponse> transactions = transactionRepository.findResponsesByCategoryId(categoryId, pageable);
         
         return ResponseEntity.ok(transactions);
     }
 
-    // GET /api/transactions/search - Search transactions by description
+    // GET /api/transactions/account/{accountId}/scroll?cursor=... - Keyset-paginated transactions by account
+    @GetMapping("/account/{accountId}/scroll")
+    public ResponseEntity<CursorPage<TransactionResponse>> scrollTransactionsByAccount(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            Slice<TransactionResponse> transactions = transactionRepository.findByAccountAfter(
+                accountId, after.transactionDate(), after.id(), PageRequest.ofSize(size));
+            return ResponseEntity.ok(toCursorPage(transactions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/transactions/category/{categoryId}/scroll?cursor=... - Keyset-paginated transactions by category
+    @GetMapping("/category/{categoryId}/scroll")
+    public ResponseEntity<CursorPage<TransactionResponse>> scrollTransactionsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            Slice<TransactionResponse> transactions = transactionRepository.findByCategoryAfter(
+                categoryId, after.transactionDate(), after.id(), PageRequest.ofSize(size));
+            return ResponseEntity.ok(toCursorPage(transactions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/transactions/search?userId=1&q=...&cursor=... - Ranked search over description and notes
     @GetMapping("/search")
-    public ResponseEntity<Page<Transaction>> searchTransactions(
+    public ResponseEntity<CursorPage<TransactionResponse>> searchTransactions(
             @RequestParam Long userId,
-            @RequestParam String description,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByAccountUserIdAndDescriptionContainingIgnoreCase(
-            userId, description, pageable);
-        
-        return ResponseEntity.ok(transactions);
+        try {
+            // description is the parameter name older clients send
+            return ResponseEntity.ok(transactionSearchService.search(
+                userId, q != null ? q : description, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // POST /api/transactions - Create new transaction
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transaction, 
+    public ResponseEntity<TransactionResponse> createTransaction(@RequestBody Transaction transaction, 
                                                         @RequestParam Long accountId,
                                                         @RequestParam(required = false) Long categoryId) {
-        // Find the account
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
-        if (accountOpt.isEmpty()) {
+        return transactionService.create(transaction, accountId, categoryId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.badRequest().build());
+    }
+
+    // POST /api/transactions/import?userId=1 (text/csv) - Bulk import a CSV statement
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importCsv(@RequestParam Long userId, InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(transactionImportService.importCsv(userId, body));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
+    }
 
-        // Find the category (optional)
-        if (categoryId != null) {
-            Optional<Category> categoryOpt = categoryRepository.findById(categoryId);
-            if (categoryOpt.isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
-            transaction.setCategory(categoryOpt.get());
+    // POST /api/transactions/import?userId=1 (application/json) - Bulk import a JSON array
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResult> importJson(@RequestParam Long userId, InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(transactionImportService.importJson(userId, body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-
-        transaction.setAccount(accountOpt.get());
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        return ResponseEntity.ok(savedTransaction);
     }
 
     // PUT /api/transactions/{id} - Update transaction
     @PutMapping("/{id}")
-    public ResponseEntity<Transaction> updateTransaction(@PathVariable Long id, @RequestBody Transaction transactionDetails) {
-        return transactionRepository.findById(id)
-            .map(transaction -> {
-                transaction.setAmount(transactionDetails.getAmount());
-                transaction.setDescription(transactionDetails.getDescription());
-                transaction.setTransactionDate(transactionDetails.getTransactionDate());
-                transaction.setNotes(transactionDetails.getNotes());
-                transaction.setCurrency(transactionDetails.getCurrency());
-                transaction.setUpdatedAt(LocalDateTime.now());
-                return ResponseEntity.ok(transactionRepository.save(transaction));
-            })
+    public ResponseEntity<TransactionResponse> updateTransaction(@PathVariable Long id, @RequestBody Transaction transactionDetails) {
+        return transactionService.update(id, transactionDetails)
+            .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
     // DELETE /api/transactions/{id} - Delete transaction
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTransaction(@PathVariable Long id) {
-        return transactionRepository.findById(id)
-            .map(transaction -> {
-                transactionRepository.delete(transaction);
-                return ResponseEntity.ok().build();
-            })
-            .orElse(ResponseEntity.notFound().build());
+        return transactionService.delete(id)
+            ? ResponseEntity.ok().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    // Only keys the (user|account|category, transaction_date, id) indexes can return in order, so a page
+    // is read off the index instead of sorting every match; id breaks ties so pages are stable.
+    // Anything else throws IllegalArgumentException.
+    private static Sort indexedSort(String sortBy, String sortDir) {
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sortBy: " + sortBy);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, sortBy, "id");
+    }
+
+    private static CursorPage<TransactionResponse> toCursorPage(Slice<TransactionResponse> slice) {
+        List<TransactionResponse> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            TransactionResponse last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.transactionDate(), last.id()).encode();
+        }
+        return new CursorPage<>(content, content.size(), nextCursor, slice.hasNext());
     }
-}
\ No newline at end of file
+}
@@ -17,7 +17,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.newspring_backend.dto.UserDetailResponse;
+import com.example.newspring_backend.dto.UserResponse;
 import com.example.newspring_backend.entity.User;
+import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.CategoryRepository;
+import com.example.newspring_backend.repository.LikePatterns;
 import com.example.newspring_backend.repository.UserRepository;
 
 @RestController
@@ -28,66 +33,74 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
     // GET /api/users - Get all users
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    public ResponseEntity<List<UserResponse>> getAllUsers() {
+        List<UserResponse> users = userRepository.findAllResponses();
         return ResponseEntity.ok(users);
     }
 
     // GET /api/users/{id} - Get user by ID
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+        Optional<UserResponse> user = userRepository.findResponseById(id);
         return user.map(ResponseEntity::ok)
                   .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/users/{id}/with-accounts - Get user with accounts
     @GetMapping("/{id}/with-accounts")
-    public ResponseEntity<User> getUserWithAccounts(@PathVariable Long id) {
-        Optional<User> user = userRepository.findByIdWithAccounts(id);
-        return user.map(ResponseEntity::ok)
+    public ResponseEntity<UserDetailResponse> getUserWithAccounts(@PathVariable Long id) {
+        Optional<UserResponse> user = userRepository.findResponseById(id);
+        return user.map(u -> ResponseEntity.ok(
+                       new UserDetailResponse(u, accountRepository.findResponsesByUserId(id), null)))
                   .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/users/{id}/with-categories - Get user with categories
     @GetMapping("/{id}/with-categories")
-    public ResponseEntity<User> getUserWithCategories(@PathVariable Long id) {
-        Optional<User> user = userRepository.findByIdWithCategories(id);
-        return user.map(ResponseEntity::ok)
+    public ResponseEntity<UserDetailResponse> getUserWithCategories(@PathVariable Long id) {
+        Optional<UserResponse> user = userRepository.findResponseById(id);
+        return user.map(u -> ResponseEntity.ok(
+                       new UserDetailResponse(u, null, categoryRepository.findResponsesByUserId(id))))
                   .orElse(ResponseEntity.notFound().build());
     }
 
     // GET /api/users/search?name=john - Search users by name
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String name) {
-        List<User> users = userRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name);
+    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String name) {
+        List<UserResponse> users = userRepository.searchResponses(LikePatterns.contains(name));
         return ResponseEntity.ok(users);
     }
 
     // POST /api/users - Create new user
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public ResponseEntity<UserResponse> createUser(@RequestBody User user) {
         // Check if email already exists
         if (userRepository.existsByEmail(user.getEmail())) {
             return ResponseEntity.badRequest().build();
         }
         
         User savedUser = userRepository.save(user);
-        return ResponseEntity.ok(savedUser);
+        return ResponseEntity.ok(UserResponse.from(savedUser));
     }
 
     // PUT /api/users/{id} - Update user
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         return userRepository.findById(id)
             .map(user -> {
                 user.setFirstName(userDetails.getFirstName());
                 user.setLastName(userDetails.getLastName());
                 user.setEmail(userDetails.getEmail());
                 user.setUpdatedAt(LocalDateTime.now());
-                return ResponseEntity.ok(userRepository.save(user));
+                return ResponseEntity.ok(UserResponse.from(userRepository.save(user)));
             })
             .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,102 @@
+package com.example.newspring_backend.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * An amount in a currency as a count of ten-thousandths, the scale of the
+ * {@code NUMERIC(19,4)} money columns, so every stored value up to
+ * {@link #MAX} converts both ways exactly; finer amounts round as the columns
+ * round them. Arithmetic is exact and throws
+ * {@link ArithmeticException} on overflow rather than wrapping; mixing
+ * currencies throws {@link IllegalArgumentException}. Serializes as the plain
+ * decimal amount, so JSON bodies read as they did with {@link BigDecimal}.
+ * Loops that sum many rows should accumulate {@link #units()} as a
+ * {@code long} and wrap the result once.
+ */
+public record Money(long units, String currency) {
+
+    public static final int SCALE = 4;
+
+    // Totals across a user's accounts; the schema's default currency, as the app does not convert
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    public static final BigDecimal MAX = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(toUnits(amount), currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    // The currency columns are nullable and default to USD; a null currency reads the same way
+    public static Money ofOrDefaultCurrency(BigDecimal amount, String currency) {
+        return of(amount, currency != null ? currency : DEFAULT_CURRENCY);
+    }
+
+    // Null reads as zero, for SQL sums over no rows
+    public static Money ofNullable(BigDecimal amount) {
+        return amount != null ? of(amount) : zero(DEFAULT_CURRENCY);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    // Ten-thousandths in amount, finer digits rounded half up as the NUMERIC(19,4) columns store them;
+    // throws if it exceeds the long range
+    public static long toUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(units, sameCurrency(other).units), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(units, sameCurrency(other).units), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(units), currency);
+    }
+
+    public Money abs() {
+        return units < 0 ? negate() : this;
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public boolean isZero() {
+        return units == 0;
+    }
+
+    // Exact, at the column scale
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+}
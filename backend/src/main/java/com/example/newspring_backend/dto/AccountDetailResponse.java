@@ -0,0 +1,12 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * An account together with its transactions, serialized as the account's
+ * fields plus a {@code transactions} array.
+ */
+public record AccountDetailResponse(@JsonUnwrapped AccountResponse account, List<TransactionResponse> transactions) {
+}
@@ -0,0 +1,30 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.newspring_backend.entity.Account;
+
+/**
+ * API view of an account; the owning user is referenced by id only.
+ */
+public record AccountResponse(
+        Long id,
+        Long userId,
+        String name,
+        String currency,
+        BigDecimal balance,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static AccountResponse from(Account account) {
+        return new AccountResponse(
+            account.getId(),
+            account.getUser().getId(),
+            account.getName(),
+            account.getCurrency(),
+            account.getBalance(),
+            account.getCreatedAt(),
+            account.getUpdatedAt());
+    }
+}
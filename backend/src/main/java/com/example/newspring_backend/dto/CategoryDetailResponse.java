@@ -0,0 +1,12 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * A category together with its transactions, serialized as the category's
+ * fields plus a {@code transactions} array.
+ */
+public record CategoryDetailResponse(@JsonUnwrapped CategoryResponse category, List<TransactionResponse> transactions) {
+}
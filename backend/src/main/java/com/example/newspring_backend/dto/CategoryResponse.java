@@ -0,0 +1,29 @@
+package com.example.newspring_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.newspring_backend.entity.Category;
+
+/**
+ * API view of a category; the owning user is referenced by id only.
+ */
+public record CategoryResponse(
+        Long id,
+        Long userId,
+        String name,
+        Category.CategoryType type,
+        String color,
+        String icon,
+        LocalDateTime createdAt) {
+
+    public static CategoryResponse from(Category category) {
+        return new CategoryResponse(
+            category.getId(),
+            category.getUser().getId(),
+            category.getName(),
+            category.getType(),
+            category.getColor(),
+            category.getIcon(),
+            category.getCreatedAt());
+    }
+}
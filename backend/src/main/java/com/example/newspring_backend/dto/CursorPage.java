@@ -0,0 +1,10 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+/**
+ * One window of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code cursor} to fetch the following window; it is {@code null} on the last one.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+}
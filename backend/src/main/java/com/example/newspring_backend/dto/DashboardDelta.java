@@ -0,0 +1,28 @@
+package com.example.newspring_backend.dto;
+
+import com.example.newspring_backend.domain.Money;
+
+/**
+ * Change to one month's dashboard figures from a committed write, pushed on
+ * {@code GET /api/reports/dashboard/stream}. Fields are differences in the
+ * {@link PeriodSummary} convention (expense positive), so a client adds them to
+ * the month's and, for the same year, the year's figures; {@code net} is also
+ * the change to the total balance.
+ */
+public record DashboardDelta(
+        int year,
+        int month,
+        Money income,
+        Money expense,
+        Money net,
+        long transactionCount) {
+
+    // From signed income and expense sums in Money units, expense negative as stored
+    public static DashboardDelta of(int year, int month, long incomeUnits, long expenseUnits, long transactionCount) {
+        return new DashboardDelta(year, month,
+            new Money(incomeUnits, Money.DEFAULT_CURRENCY),
+            new Money(Math.negateExact(expenseUnits), Money.DEFAULT_CURRENCY),
+            new Money(Math.addExact(incomeUnits, expenseUnits), Money.DEFAULT_CURRENCY),
+            transactionCount);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+import com.example.newspring_backend.domain.Money;
+
+/**
+ * Response body of {@code GET /api/reports/dashboard}. Sections whose query
+ * failed or timed out are null and named in {@code unavailable}.
+ */
+public record DashboardReport(
+        PeriodSummary currentMonth,
+        PeriodSummary currentYear,
+        Long totalTransactions,
+        Money totalBalance,
+        List<TransactionResponse> recentTransactions,
+        int month,
+        int year,
+        List<String> unavailable) {
+}
@@ -0,0 +1,15 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Raw figures produced by the single-scan dashboard aggregate. Sums are
+ * {@code null} when no transaction matched the corresponding bucket.
+ */
+public record DashboardTotals(
+        BigDecimal monthIncome,
+        BigDecimal monthExpense,
+        BigDecimal yearIncome,
+        BigDecimal yearExpense,
+        Long transactionCount) {
+}
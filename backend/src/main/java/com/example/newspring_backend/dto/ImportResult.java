@@ -0,0 +1,18 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows listed in {@code errors} were skipped; all
+ * other rows were inserted. Row numbers are 1-based and exclude the CSV header.
+ */
+public record ImportResult(
+        int totalRows,
+        int imported,
+        List<RowError> errors,
+        long elapsedMillis,
+        double rowsPerSecond) {
+
+    public record RowError(int row, String message) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+
+import com.example.newspring_backend.domain.Money;
+
+/**
+ * Income, expense and net figures for one reporting period. Expense is
+ * reported as a positive amount, net is income minus expense.
+ */
+public record PeriodSummary(Money income, Money expense, Money net) {
+
+    // Expense as stored, negative; null sums read as zero
+    public static PeriodSummary of(BigDecimal income, BigDecimal expense) {
+        return of(Money.ofNullable(income), Money.ofNullable(expense));
+    }
+
+    public static PeriodSummary of(Money income, Money expense) {
+        return new PeriodSummary(income, expense.abs(), income.plus(expense));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expense sums for a period as read from the rollup. Either sum is
+ * {@code null} when the period has no rows.
+ */
+public record PeriodTotals(BigDecimal income, BigDecimal expense) {
+}
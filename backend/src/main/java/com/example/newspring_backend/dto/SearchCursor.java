@@ -0,0 +1,36 @@
+package com.example.newspring_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position over (score, id) in a ranked search, best match first.
+ * Exposed to clients only as an opaque URL-safe token; the score round-trips
+ * exactly, so the next window resumes right after the last row returned.
+ */
+public record SearchCursor(double score, long id) {
+
+    // Sorts before every real match, used when no cursor is supplied
+    public static final SearchCursor START = new SearchCursor(Double.MAX_VALUE, Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = score + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null or blank means "from the best match"; malformed tokens throw IllegalArgumentException
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SearchCursor(
+                Double.parseDouble(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totals of one time-series bucket, optionally for one category or account.
+ * {@code bucket} is the first day of the day, ISO week or month; the group
+ * fields are {@code null} for an ungrouped series and for uncategorised rows.
+ * Expense is positive, net is income minus expense.
+ */
+public record TimeseriesPoint(
+        LocalDate bucket,
+        Long groupId,
+        String groupName,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        Long transactionCount) {
+}
@@ -0,0 +1,21 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, unmanaged view of a transaction used by the streaming export, so rows
+ * never enter the persistence context.
+ */
+public record TransactionExportRow(
+        Long id,
+        LocalDate transactionDate,
+        BigDecimal amount,
+        String currency,
+        String description,
+        String notes,
+        Long accountId,
+        String accountName,
+        Long categoryId,
+        String categoryName) {
+}
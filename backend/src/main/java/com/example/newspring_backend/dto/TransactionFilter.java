@@ -0,0 +1,18 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Optional filters of the transaction listing, scroll and export endpoints.
+ * Null fields are not filtered on; dates and amounts are inclusive bounds.
+ */
+public record TransactionFilter(
+        Long userId,
+        Long accountId,
+        Long categoryId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal minAmount,
+        BigDecimal maxAmount) {
+}
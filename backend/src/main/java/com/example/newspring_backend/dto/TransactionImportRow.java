@@ -0,0 +1,17 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of a bulk import, as supplied by the client.
+ */
+public record TransactionImportRow(
+        Long accountId,
+        Long categoryId,
+        BigDecimal amount,
+        LocalDate transactionDate,
+        String currency,
+        String description,
+        String notes) {
+}
@@ -0,0 +1,45 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.newspring_backend.entity.Transaction;
+
+/**
+ * API view of a transaction. Account and category are flattened to ids and
+ * names so listings are a single SELECT with no lazy loads.
+ */
+public record TransactionResponse(
+        Long id,
+        Long accountId,
+        String accountName,
+        Long categoryId,
+        String categoryName,
+        BigDecimal amount,
+        LocalDate transactionDate,
+        String currency,
+        String description,
+        String notes,
+        String receiptPath,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    // Must be called while the transaction's account and category are still loadable
+    public static TransactionResponse from(Transaction transaction) {
+        return new TransactionResponse(
+            transaction.getId(),
+            transaction.getAccount().getId(),
+            transaction.getAccount().getName(),
+            transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+            transaction.getCategory() != null ? transaction.getCategory().getName() : null,
+            transaction.getAmount(),
+            transaction.getTransactionDate(),
+            transaction.getCurrency(),
+            transaction.getDescription(),
+            transaction.getNotes(),
+            transaction.getReceiptPath(),
+            transaction.getCreatedAt(),
+            transaction.getUpdatedAt());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.newspring_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One ranked search match: the {@link TransactionResponse} columns plus the
+ * relevance score the results are ordered and paged by.
+ */
+public record TransactionSearchHit(
+        Long id,
+        Long accountId,
+        String accountName,
+        Long categoryId,
+        String categoryName,
+        BigDecimal amount,
+        LocalDate transactionDate,
+        String currency,
+        String description,
+        String notes,
+        String receiptPath,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Double score) {
+
+    public TransactionResponse toResponse() {
+        return new TransactionResponse(id, accountId, accountName, categoryId, categoryName, amount,
+            transactionDate, currency, description, notes, receiptPath, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.newspring_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * A user together with either their accounts or their categories; the list
+ * that was not requested is omitted from the JSON.
+ */
+public record UserDetailResponse(
+        @JsonUnwrapped UserResponse user,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<AccountResponse> accounts,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<CategoryResponse> categories) {
+}
@@ -0,0 +1,27 @@
+package com.example.newspring_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.newspring_backend.entity.User;
+
+/**
+ * API view of a user. Never carries the password hash.
+ */
+public record UserResponse(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(
+            user.getId(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getCreatedAt(),
+            user.getUpdatedAt());
+    }
+}
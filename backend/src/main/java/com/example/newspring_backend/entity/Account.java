@@ -34,7 +34,8 @@ public class Account {
 
     private String currency = "USD";
 
-    @Column(precision = 19, scale = 4)
+    // Written only on insert and by AccountRepository.addToBalance; an entity update must not write back a stale read
+    @Column(precision = 19, scale = 4, updatable = false)
     private BigDecimal balance = BigDecimal.ZERO;
 
     @Column(name = "created_at")
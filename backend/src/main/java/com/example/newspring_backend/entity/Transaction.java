@@ -4,7 +4,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.example.newspring_backend.dto.TimeseriesPoint;
+import com.example.newspring_backend.dto.TransactionSearchHit;
+
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -13,20 +18,59 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "transaction")
+// Row shapes of the native ranked search and time-series queries; column types are explicit
+// because native scalars otherwise come back as java.sql date types
+@SqlResultSetMapping(name = "TransactionSearchHit", classes = @ConstructorResult(
+    targetClass = TransactionSearchHit.class,
+    columns = {
+        @ColumnResult(name = "id", type = Long.class),
+        @ColumnResult(name = "account_id", type = Long.class),
+        @ColumnResult(name = "account_name", type = String.class),
+        @ColumnResult(name = "category_id", type = Long.class),
+        @ColumnResult(name = "category_name", type = String.class),
+        @ColumnResult(name = "amount", type = BigDecimal.class),
+        @ColumnResult(name = "transaction_date", type = LocalDate.class),
+        @ColumnResult(name = "currency", type = String.class),
+        @ColumnResult(name = "description", type = String.class),
+        @ColumnResult(name = "notes", type = String.class),
+        @ColumnResult(name = "receipt_path", type = String.class),
+        @ColumnResult(name = "created_at", type = LocalDateTime.class),
+        @ColumnResult(name = "updated_at", type = LocalDateTime.class),
+        @ColumnResult(name = "score", type = Double.class)
+    }))
+@SqlResultSetMapping(name = "TimeseriesPoint", classes = @ConstructorResult(
+    targetClass = TimeseriesPoint.class,
+    columns = {
+        @ColumnResult(name = "bucket", type = LocalDate.class),
+        @ColumnResult(name = "group_id", type = Long.class),
+        @ColumnResult(name = "group_name", type = String.class),
+        @ColumnResult(name = "income", type = BigDecimal.class),
+        @ColumnResult(name = "expense", type = BigDecimal.class),
+        @ColumnResult(name = "net", type = BigDecimal.class),
+        @ColumnResult(name = "transaction_count", type = Long.class)
+    }))
 public class Transaction {
+    // Pooled sequence ids (block of 50 per round-trip) keep JDBC insert batching enabled
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_id_seq")
+    @SequenceGenerator(name = "transaction_id_seq", sequenceName = "transaction_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
 
+    // Owner copied from the account (V8) so user-scoped queries skip the account join; follows setAccount
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
@@ -58,7 +102,7 @@ public class Transaction {
     public Transaction() {}
 
     public Transaction(Account account, Category category, BigDecimal amount, LocalDate transactionDate, String description) {
-        this.account = account;
+        setAccount(account);
         this.category = category;
         this.amount = amount;
         this.transactionDate = transactionDate;
@@ -70,7 +114,12 @@ public class Transaction {
     public void setId(Long id) { this.id = id; }
 
     public Account getAccount() { return account; }
-    public void setAccount(Account account) { this.account = account; }
+    public void setAccount(Account account) {
+        this.account = account;
+        this.userId = account != null && account.getUser() != null ? account.getUser().getId() : null;
+    }
+
+    public Long getUserId() { return userId; }
 
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
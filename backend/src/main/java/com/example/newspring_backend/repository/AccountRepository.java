@@ -4,16 +4,24 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.newspring_backend.dto.AccountResponse;
 import com.example.newspring_backend.entity.Account;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     
+    // Column-only projection for API responses; a.user.id reads the FK without joining app_user
+    String RESPONSE_SELECT = "SELECT new com.example.newspring_backend.dto.AccountResponse(" +
+        "a.id, a.user.id, a.name, a.currency, a.balance, a.createdAt, a.updatedAt) FROM Account a ";
+    
     // Find all accounts for a specific user
     List<Account> findByUserId(Long userId);
     
@@ -23,14 +31,47 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     // Find accounts by currency
     List<Account> findByUserIdAndCurrency(Long userId, String currency);
     
-    // Find account with transactions (for detailed view)
-    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.transactions WHERE a.id = :id")
-    Optional<Account> findByIdWithTransactions(@Param("id") Long id);
+    // Response projections used by the read endpoints
+    @Query(RESPONSE_SELECT)
+    List<AccountResponse> findAllResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE a.id = :id")
+    Optional<AccountResponse> findResponseById(@Param("id") Long id);
+    
+    // Cached per user; save/delete below evict the owner's entry
+    @Cacheable(cacheNames = "accountsByUser", key = "#p0")
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId")
+    List<AccountResponse> findResponsesByUserId(@Param("userId") Long userId);
+    
+    // pattern comes from LikePatterns
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId AND a.name ILIKE :pattern ESCAPE '\\'")
+    List<AccountResponse> searchResponses(@Param("userId") Long userId, @Param("pattern") String pattern);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId AND a.currency = :currency")
+    List<AccountResponse> findResponsesByUserIdAndCurrency(@Param("userId") Long userId,
+                                                           @Param("currency") String currency);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId AND a.balance < :threshold")
+    List<AccountResponse> findResponsesByUserIdAndBalanceLessThan(@Param("userId") Long userId,
+                                                                  @Param("threshold") BigDecimal threshold);
     
     // Calculate total balance for a user across all accounts
     @Query("SELECT SUM(a.balance) FROM Account a WHERE a.user.id = :userId")
     BigDecimal getTotalBalanceByUserId(@Param("userId") Long userId);
     
+    // Atomic in-place balance change; concurrent writers to one account never lose an update
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.id = :accountId")
+    int addToBalance(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+    
+    // Takes a category's transactions out of their accounts' balances, one atomic update per account
+    @Modifying
+    @Query(value = "UPDATE account a SET balance = a.balance - s.total " +
+                   "FROM (SELECT account_id, SUM(amount) AS total FROM transaction WHERE category_id = :categoryId " +
+                   "GROUP BY account_id) s WHERE a.id = s.account_id",
+           nativeQuery = true)
+    int subtractCategoryTotals(@Param("categoryId") Long categoryId);
+    
     // Find accounts with balance greater than specified amount
     List<Account> findByUserIdAndBalanceGreaterThan(Long userId, BigDecimal amount);
     
@@ -39,4 +80,12 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     // Check if account name exists for user (to prevent duplicates)
     boolean existsByUserIdAndName(Long userId, String name);
+    
+    @Override
+    @CacheEvict(cacheNames = "accountsByUser", key = "#p0.user.id")
+    <S extends Account> S save(S account);
+    
+    @Override
+    @CacheEvict(cacheNames = "accountsByUser", key = "#p0.user.id")
+    void delete(Account account);
 }
\ No newline at end of file
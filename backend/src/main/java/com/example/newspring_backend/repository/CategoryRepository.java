@@ -3,16 +3,24 @@ package com.example.newspring_backend.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.newspring_backend.dto.CategoryResponse;
 import com.example.newspring_backend.entity.Category;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Column-only projection for API responses; c.user.id reads the FK without joining app_user
+    String RESPONSE_SELECT = "SELECT new com.example.newspring_backend.dto.CategoryResponse(" +
+        "c.id, c.user.id, c.name, c.type, c.color, c.icon, c.createdAt) FROM Category c ";
+    
     // Find all categories for a specific user
     List<Category> findByUserId(Long userId);
     
@@ -22,9 +30,26 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // Find categories by name (for search)
     List<Category> findByUserIdAndNameContainingIgnoreCase(Long userId, String name);
     
-    // Find category with transactions (for detailed view)
-    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.transactions WHERE c.id = :id")
-    Optional<Category> findByIdWithTransactions(@Param("id") Long id);
+    // Response projections used by the read endpoints
+    @Query(RESPONSE_SELECT)
+    List<CategoryResponse> findAllResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE c.id = :id")
+    Optional<CategoryResponse> findResponseById(@Param("id") Long id);
+    
+    // Cached per user (and per user and type); save/delete below evict the owner's entries
+    @Cacheable(cacheNames = "categoriesByUser", key = "#p0")
+    @Query(RESPONSE_SELECT + "WHERE c.user.id = :userId")
+    List<CategoryResponse> findResponsesByUserId(@Param("userId") Long userId);
+    
+    @Cacheable(cacheNames = "categoriesByUserAndType", key = "#p0 + ':' + #p1")
+    @Query(RESPONSE_SELECT + "WHERE c.user.id = :userId AND c.type = :type ORDER BY c.name")
+    List<CategoryResponse> findResponsesByUserIdAndType(@Param("userId") Long userId,
+                                                        @Param("type") Category.CategoryType type);
+    
+    // pattern comes from LikePatterns
+    @Query(RESPONSE_SELECT + "WHERE c.user.id = :userId AND c.name ILIKE :pattern ESCAPE '\\'")
+    List<CategoryResponse> searchResponses(@Param("userId") Long userId, @Param("pattern") String pattern);
     
     // Check if category name exists for user (to prevent duplicates)
     boolean existsByUserIdAndName(Long userId, String name);
@@ -40,4 +65,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // Count categories by type
     @Query("SELECT COUNT(c) FROM Category c WHERE c.user.id = :userId AND c.type = :type")
     long countByUserIdAndType(@Param("userId") Long userId, @Param("type") Category.CategoryType type);
+    
+    // An update may change the type, so both typed entries go
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "categoriesByUser", key = "#p0.user.id"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.user.id + ':INCOME'"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.user.id + ':EXPENSE'")
+    })
+    <S extends Category> S save(S category);
+    
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "categoriesByUser", key = "#p0.user.id"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.user.id + ':INCOME'"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.user.id + ':EXPENSE'")
+    })
+    void delete(Category category);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.newspring_backend.repository;
+
+/**
+ * Builds LIKE/ILIKE patterns from user input. The input is matched literally:
+ * {@code %}, {@code _} and the escape character itself are escaped with a
+ * backslash, so queries using these patterns must say {@code ESCAPE '\'}.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    // Matches values containing text anywhere
+    public static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    public static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
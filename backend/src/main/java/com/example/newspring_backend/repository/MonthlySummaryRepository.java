@@ -0,0 +1,149 @@
+package com.example.newspring_backend.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.PeriodTotals;
+import com.example.newspring_backend.dto.TimeseriesPoint;
+import com.example.newspring_backend.entity.MonthlySummary;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+
+    // Raw-row aggregate in monthly_summary column order; callers append an optional WHERE and GROUP BY
+    String RAW_AGGREGATE_SELECT =
+        "SELECT t.user_id, t.account_id, t.category_id, " +
+        "CAST(EXTRACT(YEAR FROM t.transaction_date) AS INTEGER) AS year, " +
+        "CAST(EXTRACT(MONTH FROM t.transaction_date) AS INTEGER) AS month, " +
+        "COALESCE(SUM(t.amount) FILTER (WHERE t.amount > 0), 0) AS income, " +
+        "COALESCE(SUM(t.amount) FILTER (WHERE t.amount < 0), 0) AS expense, " +
+        "COUNT(*) FILTER (WHERE t.amount > 0) AS income_count, " +
+        "COUNT(*) FILTER (WHERE t.amount < 0) AS expense_count, " +
+        "COUNT(*) AS transaction_count " +
+        "FROM transaction t ";
+
+    // Years whose raw rows were archived (V7); their rollup rows stay as the only record
+    String LIVE_YEAR = "NOT IN (SELECT year FROM transaction_partition_archive)";
+
+    String RAW_AGGREGATE_GROUP_BY =
+        " GROUP BY t.user_id, t.account_id, t.category_id, " +
+        "EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date)";
+
+    // Add a signed delta to one rollup cell, creating it if needed
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary (user_id, account_id, category_id, year, month, " +
+                   "income, expense, income_count, expense_count, transaction_count) " +
+                   "VALUES (:userId, :accountId, CAST(:categoryId AS BIGINT), :year, :month, " +
+                   ":income, :expense, :incomeCount, :expenseCount, :transactionCount) " +
+                   "ON CONFLICT (user_id, account_id, COALESCE(category_id, 0), year, month) DO UPDATE SET " +
+                   "income = monthly_summary.income + EXCLUDED.income, " +
+                   "expense = monthly_summary.expense + EXCLUDED.expense, " +
+                   "income_count = monthly_summary.income_count + EXCLUDED.income_count, " +
+                   "expense_count = monthly_summary.expense_count + EXCLUDED.expense_count, " +
+                   "transaction_count = monthly_summary.transaction_count + EXCLUDED.transaction_count, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void upsertDelta(@Param("userId") Long userId,
+                     @Param("accountId") Long accountId,
+                     @Param("categoryId") Long categoryId,
+                     @Param("year") int year,
+                     @Param("month") int month,
+                     @Param("income") BigDecimal income,
+                     @Param("expense") BigDecimal expense,
+                     @Param("incomeCount") long incomeCount,
+                     @Param("expenseCount") long expenseCount,
+                     @Param("transactionCount") long transactionCount);
+
+    // Monthly totals
+    @Query("SELECT new com.example.newspring_backend.dto.PeriodTotals(SUM(m.income), SUM(m.expense)) " +
+           "FROM MonthlySummary m WHERE m.userId = :userId AND m.year = :year AND m.month = :month")
+    PeriodTotals getMonthTotals(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
+
+    // Yearly totals
+    @Query("SELECT new com.example.newspring_backend.dto.PeriodTotals(SUM(m.income), SUM(m.expense)) " +
+           "FROM MonthlySummary m WHERE m.userId = :userId AND m.year = :year")
+    PeriodTotals getYearTotals(@Param("userId") Long userId, @Param("year") int year);
+
+    // Net category total over whole months; month index is year * 12 + (month - 1), end exclusive
+    @Query("SELECT SUM(m.income + m.expense) FROM MonthlySummary m " +
+           "WHERE m.userId = :userId AND m.categoryId = :categoryId " +
+           "AND m.year * 12 + m.month - 1 >= :fromMonthIndex AND m.year * 12 + m.month - 1 < :toMonthIndex")
+    BigDecimal getCategoryTotal(@Param("userId") Long userId,
+                                @Param("categoryId") Long categoryId,
+                                @Param("fromMonthIndex") int fromMonthIndex,
+                                @Param("toMonthIndex") int toMonthIndex);
+
+    // Dashboard figures: current month and year sums plus lifetime transaction count
+    @Query("SELECT new com.example.newspring_backend.dto.DashboardTotals(" +
+           "SUM(CASE WHEN m.year = :year AND m.month = :month THEN m.income END), " +
+           "SUM(CASE WHEN m.year = :year AND m.month = :month THEN m.expense END), " +
+           "SUM(CASE WHEN m.year = :year THEN m.income END), " +
+           "SUM(CASE WHEN m.year = :year THEN m.expense END), " +
+           "SUM(m.transactionCount)) " +
+           "FROM MonthlySummary m WHERE m.userId = :userId")
+    DashboardTotals getDashboardTotals(@Param("userId") Long userId, @Param("year") int year, @Param("month") int month);
+
+    // Monthly time-series from the rollup, same row shape as TransactionRepository.streamTimeseries;
+    // month index is year * 12 + (month - 1), end exclusive. Still covers archived years.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @NativeQuery(sqlResultSetMapping = "TimeseriesPoint",
+                 value = "SELECT s.bucket, s.group_id, COALESCE(c.name, a.name) AS group_name, " +
+                         "s.income, s.expense, s.net, s.transaction_count " +
+                         "FROM (SELECT make_date(m.year, m.month, 1) AS bucket, " +
+                         "CASE :groupBy WHEN 'category' THEN m.category_id WHEN 'account' THEN m.account_id END AS group_id, " +
+                         "SUM(m.income) AS income, -SUM(m.expense) AS expense, SUM(m.income + m.expense) AS net, " +
+                         "SUM(m.transaction_count) AS transaction_count " +
+                         "FROM monthly_summary m WHERE m.user_id = :userId " +
+                         "AND m.year * 12 + m.month - 1 >= :fromMonthIndex AND m.year * 12 + m.month - 1 < :toMonthIndex " +
+                         "GROUP BY 1, 2 HAVING SUM(m.transaction_count) > 0) s " +
+                         "LEFT JOIN category c ON :groupBy = 'category' AND c.id = s.group_id " +
+                         "LEFT JOIN account a ON :groupBy = 'account' AND a.id = s.group_id " +
+                         "ORDER BY s.bucket, s.group_id NULLS FIRST")
+    Stream<TimeseriesPoint> streamMonthlyTimeseries(@Param("userId") Long userId,
+                                                    @Param("groupBy") String groupBy,
+                                                    @Param("fromMonthIndex") int fromMonthIndex,
+                                                    @Param("toMonthIndex") int toMonthIndex);
+
+    // Users whose rollup rows disagree with the raw transactions (emptied cells are left in place and ignored);
+    // archived years are skipped
+    @Query(value = "WITH actual AS (" + RAW_AGGREGATE_SELECT + RAW_AGGREGATE_GROUP_BY + ") " +
+                   "SELECT DISTINCT COALESCE(x.user_id, m.user_id) FROM actual x " +
+                   "FULL JOIN monthly_summary m ON m.user_id = x.user_id AND m.account_id = x.account_id " +
+                   "AND m.category_id IS NOT DISTINCT FROM x.category_id AND m.year = x.year AND m.month = x.month " +
+                   "WHERE COALESCE(x.year, m.year) " + LIVE_YEAR + " " +
+                   "AND ((x.user_id IS NULL AND m.transaction_count <> 0) OR m.user_id IS NULL " +
+                   "OR m.income <> x.income OR m.expense <> x.expense " +
+                   "OR m.income_count <> x.income_count OR m.expense_count <> x.expense_count " +
+                   "OR m.transaction_count <> x.transaction_count)",
+           nativeQuery = true)
+    List<Long> findUsersOutOfSync();
+
+    // Rows of archived years are kept: they can no longer be rebuilt
+    @Modifying
+    @Query(value = "DELETE FROM monthly_summary WHERE user_id = :userId AND year " + LIVE_YEAR, nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Recompute a user's rollup rows from the raw transactions, except in archived years
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary (user_id, account_id, category_id, year, month, " +
+                   "income, expense, income_count, expense_count, transaction_count) " +
+                   RAW_AGGREGATE_SELECT + "WHERE t.user_id = :userId " +
+                   "AND CAST(EXTRACT(YEAR FROM t.transaction_date) AS INTEGER) " + LIVE_YEAR +
+                   RAW_AGGREGATE_GROUP_BY,
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+}
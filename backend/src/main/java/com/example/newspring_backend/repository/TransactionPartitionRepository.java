@@ -0,0 +1,42 @@
+package com.example.newspring_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.example.newspring_backend.entity.Transaction;
+
+/**
+ * Maintenance of the yearly {@code transaction} partitions through the
+ * functions defined in V7. Query methods only, no CRUD; the DDL runs in the
+ * caller's transaction.
+ */
+public interface TransactionPartitionRepository extends Repository<Transaction, Long> {
+
+    // Creates the year's partition, moving its rows out of the default partition; false if it exists or was archived
+    @Query(value = "SELECT ensure_transaction_partition(:year)", nativeQuery = true)
+    boolean ensurePartition(@Param("year") int year);
+
+    // Detaches the year's partition as archived_transaction_<year>; rows archived, or null without a partition
+    @Query(value = "SELECT archive_transaction_partition(:year)", nativeQuery = true)
+    Long archivePartition(@Param("year") int year);
+
+    // Years with an attached partition, oldest first
+    @Query(value = "SELECT CAST(substring(c.relname FROM '^transaction_y([0-9]+)$') AS INTEGER) AS year " +
+                   "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                   "WHERE i.inhparent = CAST('transaction' AS regclass) AND c.relname <> 'transaction_default' " +
+                   "ORDER BY year",
+           nativeQuery = true)
+    List<Integer> findPartitionYears();
+
+    // Years of rows that fell into the default partition because their partition did not exist
+    @Query(value = "SELECT DISTINCT CAST(EXTRACT(YEAR FROM transaction_date) AS INTEGER) " +
+                   "FROM transaction_default ORDER BY 1",
+           nativeQuery = true)
+    List<Integer> findYearsInDefaultPartition();
+
+    @Query(value = "SELECT year FROM transaction_partition_archive ORDER BY year", nativeQuery = true)
+    List<Integer> findArchivedYears();
+}
@@ -0,0 +1,29 @@
+package com.example.newspring_backend.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionExportRow;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.dto.TransactionResponse;
+
+/**
+ * Filtered transaction queries built with the Criteria API from
+ * {@link TransactionSpecifications}, so only the supplied filters reach the SQL.
+ * Mixed into {@link TransactionRepository}.
+ */
+public interface TransactionQueryRepository {
+
+    // Sorting comes from the Pageable; the count query is skipped when the first page is not full
+    Page<TransactionResponse> findResponses(TransactionFilter filter, Pageable pageable);
+
+    // Keyset window, newest first: up to size rows strictly after the cursor, no count query
+    Slice<TransactionResponse> findResponsesAfter(TransactionFilter filter, TransactionCursor cursor, int size);
+
+    // Forward-only cursor in (transactionDate, id) order for export; must be consumed inside a transaction
+    Stream<TransactionExportRow> streamForExport(TransactionFilter filter);
+}
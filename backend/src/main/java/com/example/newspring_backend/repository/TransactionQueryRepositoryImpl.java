@@ -0,0 +1,109 @@
+package com.example.newspring_backend.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionExportRow;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.entity.Transaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+
+class TransactionQueryRepositoryImpl implements TransactionQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionResponse> findResponses(TransactionFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = responseQuery(cb, TransactionSpecifications.matching(filter));
+        Root<?> t = query.getRoots().iterator().next();
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), t, cb));
+
+        TypedQuery<TransactionResponse> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(filter));
+    }
+
+    @Override
+    public Slice<TransactionResponse> findResponsesAfter(TransactionFilter filter, TransactionCursor cursor, int size) {
+        Specification<Transaction> spec = TransactionSpecifications.matching(filter);
+        if (!TransactionCursor.START.equals(cursor)) {
+            spec = spec.and(TransactionSpecifications.before(cursor));
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = responseQuery(cb, spec);
+        Root<?> t = query.getRoots().iterator().next();
+        query.orderBy(cb.desc(t.get("transactionDate")), cb.desc(t.get("id")));
+
+        // One extra row tells whether there is a next window
+        List<TransactionResponse> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.ofSize(size), hasNext);
+    }
+
+    @Override
+    public Stream<TransactionExportRow> streamForExport(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionExportRow> query = cb.createQuery(TransactionExportRow.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Account> a = t.join("account");
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+        query.select(cb.construct(TransactionExportRow.class,
+                t.get("id"), t.get("transactionDate"), t.get("amount"), t.get("currency"),
+                t.get("description"), t.get("notes"), a.get("id"), a.get("name"), c.get("id"), c.get("name")))
+            .where(TransactionSpecifications.matching(filter).toPredicate(t, query, cb))
+            .orderBy(cb.asc(t.get("transactionDate")), cb.asc(t.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+            .getResultStream();
+    }
+
+    // Same shape as TransactionRepository.RESPONSE_SELECT
+    private CriteriaQuery<TransactionResponse> responseQuery(CriteriaBuilder cb, Specification<Transaction> spec) {
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Account> a = t.join("account");
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+        return query.select(cb.construct(TransactionResponse.class,
+                t.get("id"), a.get("id"), a.get("name"), c.get("id"), c.get("name"), t.get("amount"),
+                t.get("transactionDate"), t.get("currency"), t.get("description"), t.get("notes"),
+                t.get("receiptPath"), t.get("createdAt"), t.get("updatedAt")))
+            .where(spec.toPredicate(t, query, cb));
+    }
+
+    // Filters only read transaction columns, so the count needs no joins
+    private long count(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        query.select(cb.count(t)).where(TransactionSpecifications.matching(filter).toPredicate(t, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -2,95 +2,228 @@ package com.example.newspring_backend.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.newspring_backend.dto.TimeseriesPoint;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.dto.TransactionSearchHit;
 import com.example.newspring_backend.entity.Transaction;
 
+import jakarta.persistence.QueryHint;
+
+// Filtered listing, scroll and export queries are built dynamically in TransactionQueryRepository
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionQueryRepository {
+    
+    // Column-only projection for API responses: one SELECT, account/category flattened to id and name
+    String RESPONSE_SELECT = "SELECT new com.example.newspring_backend.dto.TransactionResponse(" +
+        "t.id, a.id, a.name, c.id, c.name, t.amount, t.transactionDate, t.currency, " +
+        "t.description, t.notes, t.receiptPath, t.createdAt, t.updatedAt) " +
+        "FROM Transaction t JOIN t.account a LEFT JOIN t.category c ";
+    
+    // Text the trigram index from V6 is built on; native search queries must repeat it verbatim
+    String SEARCH_TEXT = "(coalesce(t.description, '') || ' ' || coalesce(t.notes, ''))";
     
     // Basic filtering methods
     Page<Transaction> findByAccountId(Long accountId, Pageable pageable);
     Page<Transaction> findByCategoryId(Long categoryId, Pageable pageable);
-    Page<Transaction> findByAccountUserId(Long userId, Pageable pageable);
+    Page<Transaction> findByUserId(Long userId, Pageable pageable);
     
     // Date range filtering
-    Page<Transaction> findByAccountUserIdAndTransactionDateBetween(
+    Page<Transaction> findByUserIdAndTransactionDateBetween(
         Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
     // Amount filtering
-    Page<Transaction> findByAccountUserIdAndAmountGreaterThan(
+    Page<Transaction> findByUserIdAndAmountGreaterThan(
         Long userId, BigDecimal amount, Pageable pageable);
     
-    Page<Transaction> findByAccountUserIdAndAmountLessThan(
+    Page<Transaction> findByUserIdAndAmountLessThan(
         Long userId, BigDecimal amount, Pageable pageable);
     
-    // Combined filtering
-    @Query("SELECT t FROM Transaction t WHERE t.account.user.id = :userId " +
-           "AND (:accountId IS NULL OR t.account.id = :accountId) " +
-           "AND (:categoryId IS NULL OR t.category.id = :categoryId) " +
-           "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
-           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
-           "AND (:minAmount IS NULL OR t.amount >= :minAmount) " +
-           "AND (:maxAmount IS NULL OR t.amount <= :maxAmount)")
-    Page<Transaction> findTransactionsWithFilters(
-        @Param("userId") Long userId,
-        @Param("accountId") Long accountId,
-        @Param("categoryId") Long categoryId,
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate,
-        @Param("minAmount") BigDecimal minAmount,
-        @Param("maxAmount") BigDecimal maxAmount,
-        Pageable pageable);
-    
-    // Search by description
-    Page<Transaction> findByAccountUserIdAndDescriptionContainingIgnoreCase(
-        Long userId, String description, Pageable pageable);
+    // Response projections used by the read endpoints; sorting comes from the Pageable
+    @Query(value = RESPONSE_SELECT, countQuery = "SELECT COUNT(t) FROM Transaction t")
+    Page<TransactionResponse> findAllResponses(Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.id = :id")
+    Optional<TransactionResponse> findResponseById(@Param("id") Long id);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE t.userId = :userId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId")
+    Page<TransactionResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE a.id = :accountId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.account.id = :accountId")
+    Page<TransactionResponse> findResponsesByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE c.id = :categoryId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.category.id = :categoryId")
+    Page<TransactionResponse> findResponsesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.id = :accountId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findAllResponsesByAccountId(@Param("accountId") Long accountId);
+    
+    @Query(RESPONSE_SELECT + "WHERE c.id = :categoryId ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionResponse> findAllResponsesByCategoryId(@Param("categoryId") Long categoryId);
+    
+    // Ranked search over description and notes, best match first, keyset-paged on (score, id).
+    // A row matches on stemmed terms (search_vector), a substring (:pattern) or a misspelled word (<%);
+    // the score adds the full-text rank to the trigram word similarity. See V6 for the indexes.
+    // The tsquery is inlined so the predicates stay index conditions under generic prepared plans;
+    // only the window's rows are joined to account and category.
+    @NativeQuery(sqlResultSetMapping = "TransactionSearchHit",
+                 value = "SELECT t.id, a.id AS account_id, a.name AS account_name, " +
+                         "c.id AS category_id, c.name AS category_name, t.amount, t.transaction_date, " +
+                         "t.currency, t.description, t.notes, t.receipt_path, t.created_at, t.updated_at, m.score " +
+                         "FROM (SELECT s.id, s.score FROM (" +
+                         "SELECT t.id, CAST(ts_rank_cd(t.search_vector, websearch_to_tsquery('english', :query)) " +
+                         "+ word_similarity(:query, " + SEARCH_TEXT + ") AS float8) AS score " +
+                         "FROM transaction t " +
+                         "WHERE t.user_id = :userId " +
+                         "AND (t.search_vector @@ websearch_to_tsquery('english', :query) " +
+                         "OR " + SEARCH_TEXT + " ILIKE :pattern OR :query <% " + SEARCH_TEXT + ")) s " +
+                         "WHERE (s.score, s.id) < (:cursorScore, :cursorId) " +
+                         "ORDER BY s.score DESC, s.id DESC LIMIT :limit) m " +
+                         "JOIN transaction t ON t.id = m.id JOIN account a ON a.id = t.account_id " +
+                         "LEFT JOIN category c ON c.id = t.category_id " +
+                         "ORDER BY m.score DESC, m.id DESC")
+    List<TransactionSearchHit> searchAfter(@Param("userId") Long userId,
+                                           @Param("query") String query,
+                                           @Param("pattern") String pattern,
+                                           @Param("cursorScore") double cursorScore,
+                                           @Param("cursorId") long cursorId,
+                                           @Param("limit") int limit);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE t.userId = :userId ORDER BY t.transactionDate DESC, t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId")
+    Page<TransactionResponse> findRecentResponses(@Param("userId") Long userId, Pageable pageable);
+    
+    // Same rows without the count query, for callers that only want the first few
+    @Query(RESPONSE_SELECT + "WHERE t.userId = :userId ORDER BY t.transactionDate DESC, t.createdAt DESC")
+    List<TransactionResponse> findLatestResponses(@Param("userId") Long userId, Pageable pageable);
+    
+    // Keyset windows, newest first: rows strictly after the (transactionDate, id) cursor, no count query
+    @Query(RESPONSE_SELECT + "WHERE t.userId = :userId " +
+           "AND (t.transactionDate, t.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Slice<TransactionResponse> findByUserAfter(@Param("userId") Long userId,
+                                               @Param("cursorDate") LocalDate cursorDate,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE a.id = :accountId " +
+           "AND (t.transactionDate, t.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Slice<TransactionResponse> findByAccountAfter(@Param("accountId") Long accountId,
+                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE c.id = :categoryId " +
+           "AND (t.transactionDate, t.id) < (:cursorDate, :cursorId) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Slice<TransactionResponse> findByCategoryAfter(@Param("categoryId") Long categoryId,
+                                                   @Param("cursorDate") LocalDate cursorDate,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+    
+    // Totals per date_trunc bucket ('day', 'week' or 'month') over [fromDate, toDate), one row per bucket,
+    // or per bucket and category/account when :groupBy is 'category'/'account'. One index-only scan of the
+    // user's rows, summed per day first so date_trunc runs once per day rather than once per row; group
+    // names are joined to the aggregated rows only. Sums carry the monthly_summary scale so both sources
+    // serialize alike. Must be consumed inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @NativeQuery(sqlResultSetMapping = "TimeseriesPoint",
+                 value = "SELECT s.bucket, s.group_id, COALESCE(c.name, a.name) AS group_name, " +
+                         "s.income, s.expense, s.net, s.transaction_count " +
+                         "FROM (SELECT CAST(date_trunc(:bucket, CAST(d.day AS timestamp)) AS date) AS bucket, d.group_id, " +
+                         "CAST(COALESCE(SUM(d.income), 0) AS NUMERIC(19,4)) AS income, " +
+                         "CAST(COALESCE(-SUM(d.expense), 0) AS NUMERIC(19,4)) AS expense, " +
+                         "SUM(d.net) AS net, SUM(d.transaction_count) AS transaction_count " +
+                         "FROM (SELECT t.transaction_date AS day, " +
+                         "CASE :groupBy WHEN 'category' THEN t.category_id WHEN 'account' THEN t.account_id END AS group_id, " +
+                         "SUM(t.amount) FILTER (WHERE t.amount > 0) AS income, " +
+                         "SUM(t.amount) FILTER (WHERE t.amount < 0) AS expense, " +
+                         "SUM(t.amount) AS net, COUNT(*) AS transaction_count " +
+                         "FROM transaction t WHERE t.user_id = :userId " +
+                         "AND t.transaction_date >= :fromDate AND t.transaction_date < :toDate " +
+                         "GROUP BY 1, 2) d " +
+                         "GROUP BY 1, 2) s " +
+                         "LEFT JOIN category c ON :groupBy = 'category' AND c.id = s.group_id " +
+                         "LEFT JOIN account a ON :groupBy = 'account' AND a.id = s.group_id " +
+                         "ORDER BY s.bucket, s.group_id NULLS FIRST")
+    Stream<TimeseriesPoint> streamTimeseries(@Param("userId") Long userId,
+                                             @Param("bucket") String bucket,
+                                             @Param("groupBy") String groupBy,
+                                             @Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate);
+
+    // A user's rows as (id, epoch day, amount in ten-thousandths, category id or 0, account id) in date order,
+    // for TransactionColumns. Every column is in idx_transaction_user_date, so this is one index-only scan.
+    // Must be consumed inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @NativeQuery("SELECT t.id, t.transaction_date - DATE '1970-01-01', CAST(t.amount * 10000 AS bigint), " +
+                 "COALESCE(t.category_id, 0), t.account_id " +
+                 "FROM transaction t WHERE t.user_id = :userId ORDER BY t.transaction_date, t.id")
+    Stream<Object[]> streamColumnsByUserId(@Param("userId") Long userId);
+    
+    // Income/expense over a half-open date range [startDate, endDate) so the date index stays usable
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId " +
+           "AND t.amount > 0 AND t.transactionDate >= :startDate AND t.transactionDate < :endDate")
+    BigDecimal getTotalIncomeBetween(@Param("userId") Long userId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId " +
+           "AND t.amount < 0 AND t.transactionDate >= :startDate AND t.transactionDate < :endDate")
+    BigDecimal getTotalExpenseBetween(@Param("userId") Long userId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
     
     // Monthly summaries
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId " +
-           "AND t.amount > 0 AND EXTRACT(MONTH FROM t.transactionDate) = :month " +
-           "AND EXTRACT(YEAR FROM t.transactionDate) = :year")
-    BigDecimal getTotalIncomeByMonth(@Param("userId") Long userId, 
-                                   @Param("month") int month, 
-                                   @Param("year") int year);
-    
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId " +
-           "AND t.amount < 0 AND EXTRACT(MONTH FROM t.transactionDate) = :month " +
-           "AND EXTRACT(YEAR FROM t.transactionDate) = :year")
-    BigDecimal getTotalExpenseByMonth(@Param("userId") Long userId, 
-                                    @Param("month") int month, 
-                                    @Param("year") int year);
+    default BigDecimal getTotalIncomeByMonth(Long userId, int month, int year) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return getTotalIncomeBetween(userId, start, start.plusMonths(1));
+    }
+    
+    default BigDecimal getTotalExpenseByMonth(Long userId, int month, int year) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return getTotalExpenseBetween(userId, start, start.plusMonths(1));
+    }
     
     // Yearly summaries
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId " +
-           "AND t.amount > 0 AND EXTRACT(YEAR FROM t.transactionDate) = :year")
-    BigDecimal getTotalIncomeByYear(@Param("userId") Long userId, @Param("year") int year);
+    default BigDecimal getTotalIncomeByYear(Long userId, int year) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return getTotalIncomeBetween(userId, start, start.plusYears(1));
+    }
     
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId " +
-           "AND t.amount < 0 AND EXTRACT(YEAR FROM t.transactionDate) = :year")
-    BigDecimal getTotalExpenseByYear(@Param("userId") Long userId, @Param("year") int year);
+    default BigDecimal getTotalExpenseByYear(Long userId, int year) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return getTotalExpenseBetween(userId, start, start.plusYears(1));
+    }
     
     // Category-wise spending
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.user.id = :userId " +
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId " +
            "AND t.category.id = :categoryId AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalByCategory(@Param("userId") Long userId, 
                                 @Param("categoryId") Long categoryId,
                                 @Param("startDate") LocalDate startDate, 
                                 @Param("endDate") LocalDate endDate);
     
-    // Recent transactions
-    @Query("SELECT t FROM Transaction t WHERE t.account.user.id = :userId " +
-           "ORDER BY t.transactionDate DESC, t.createdAt DESC")
-    Page<Transaction> findRecentTransactions(@Param("userId") Long userId, Pageable pageable);
-    
     // Count transactions
-    long countByAccountUserId(Long userId);
-    long countByAccountUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    long countByUserId(Long userId);
+    long countByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.newspring_backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.entity.Transaction;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Predicates for the filtered transaction queries. Only the filters that are
+ * set are emitted, so each combination is its own statement and Postgres plans
+ * it against the index that fits, instead of one generic plan for a catch-all
+ * {@code (:x IS NULL OR ...)} query. Account and category are compared by
+ * their foreign keys, so the predicates never need a join.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return (t, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.userId() != null) {
+                predicates.add(cb.equal(t.get("userId"), filter.userId()));
+            }
+            if (filter.accountId() != null) {
+                predicates.add(cb.equal(t.get("account").get("id"), filter.accountId()));
+            }
+            if (filter.categoryId() != null) {
+                predicates.add(cb.equal(t.get("category").get("id"), filter.categoryId()));
+            }
+            if (filter.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(t.get("transactionDate"), filter.startDate()));
+            }
+            if (filter.endDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(t.get("transactionDate"), filter.endDate()));
+            }
+            if (filter.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(t.get("amount"), filter.minAmount()));
+            }
+            if (filter.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(t.get("amount"), filter.maxAmount()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Rows strictly after the cursor, newest first. Criteria has no row-value comparison, so the date bound
+    // is repeated on its own to stay an index condition; only rows on the cursor's date are filtered by id.
+    public static Specification<Transaction> before(TransactionCursor cursor) {
+        return (t, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(t.get("transactionDate"), cursor.transactionDate()),
+            cb.or(
+                cb.lessThan(t.get("transactionDate"), cursor.transactionDate()),
+                cb.lessThan(t.get("id"), cursor.id())));
+    }
+}
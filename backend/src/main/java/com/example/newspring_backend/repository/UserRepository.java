@@ -1,6 +1,9 @@
 package com.example.newspring_backend.repository;
 
+import com.example.newspring_backend.dto.UserResponse;
 import com.example.newspring_backend.entity.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Column-only projection for API responses; leaves out the password hash
+    String RESPONSE_SELECT = "SELECT new com.example.newspring_backend.dto.UserResponse(" +
+        "u.id, u.email, u.firstName, u.lastName, u.createdAt, u.updatedAt) FROM User u ";
+    
     // Find user by email (for login)
     Optional<User> findByEmail(String email);
     
@@ -22,11 +29,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
         String firstName, String lastName);
     
-    // Custom query to find user with their accounts
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.accounts WHERE u.id = :id")
-    Optional<User> findByIdWithAccounts(@Param("id") Long id);
+    // Response projections used by the read endpoints
+    @Query(RESPONSE_SELECT)
+    List<UserResponse> findAllResponses();
+    
+    @Query(RESPONSE_SELECT + "WHERE u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+    
+    // ILIKE on the bare columns so the trigram indexes from V6 serve the substring match; pattern comes
+    // from LikePatterns
+    @Query(RESPONSE_SELECT + "WHERE u.firstName ILIKE :pattern ESCAPE '\\' " +
+           "OR u.lastName ILIKE :pattern ESCAPE '\\'")
+    List<UserResponse> searchResponses(@Param("pattern") String pattern);
     
-    // Custom query to find user with their categories
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.categories WHERE u.id = :id")
-    Optional<User> findByIdWithCategories(@Param("id") Long id);
+    // Deleting a user cascades to their accounts and categories in the database
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = "accountsByUser", key = "#p0.id"),
+        @CacheEvict(cacheNames = "categoriesByUser", key = "#p0.id"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.id + ':INCOME'"),
+        @CacheEvict(cacheNames = "categoriesByUserAndType", key = "#p0.id + ':EXPENSE'")
+    })
+    void delete(User user);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.newspring_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.repository.AccountRepository;
+
+/**
+ * Keeps {@code account.balance} equal to the opening balance plus the sum of
+ * the account's transactions. Each change is one atomic
+ * {@code UPDATE ... SET balance = balance + ?} inside the caller's transaction,
+ * never a read-modify-write.
+ */
+@Service
+public class AccountBalanceService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Balances do not convert currencies; the delta's currency is not checked against the account's
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(Long accountId, Money delta) {
+        if (!delta.isZero()) {
+            accountRepository.addToBalance(accountId, delta.toBigDecimal());
+        }
+    }
+
+    // Before a category is deleted together with its transactions
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeCategory(Long categoryId) {
+        accountRepository.subtractCategoryTotals(categoryId);
+    }
+
+    // Cached account lists carry the balance; every transaction write publishes this event
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Cache accounts = cacheManager.getCache("accountsByUser");
+        if (accounts != null) {
+            accounts.evict(event.userId());
+        }
+    }
+}
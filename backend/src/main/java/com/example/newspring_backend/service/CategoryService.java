@@ -0,0 +1,39 @@
+package com.example.newspring_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.repository.CategoryRepository;
+
+/**
+ * Category writes that reach beyond the category row. Deleting a category
+ * deletes its transactions with it, so their amounts leave the account
+ * balances in the same transaction.
+ */
+@Service
+public class CategoryService {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public boolean delete(Long id) {
+        return categoryRepository.findById(id)
+            .map(category -> {
+                accountBalanceService.removeCategory(id);
+                categoryRepository.delete(category);
+                // Its transactions and rollup rows are deleted with it
+                eventPublisher.publishEvent(TransactionsChangedEvent.allPeriods(category.getUser().getId()));
+                return true;
+            })
+            .orElse(false);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.newspring_backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fan-out hub behind {@code GET /api/reports/dashboard/stream}. An open stream
+ * is an {@link SseEmitter} in its user's subscriber set and holds no thread.
+ * Committed rollup deltas become {@code delta} events; changes that may touch
+ * any period (account or category deletion, rollup rebuild) become a
+ * {@code refresh} event telling the client to re-fetch the dashboard. Events are
+ * queued per user and written by a small pool, one drain per user at a time, so
+ * a user's events arrive in order, a slow client holds up only its own user's
+ * queue, and the writing request never waits on the network. Streams that fail
+ * a write or time out are dropped; idle ones get a heartbeat comment.
+ */
+@Component
+public class DashboardFeed implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardFeed.class);
+
+    private final Map<Long, Subscribers> users = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    public DashboardFeed(MeterRegistry registry,
+                         @Value("${reports.feed.timeout:30m}") Duration timeout,
+                         @Value("${reports.feed.send-threads:4}") int sendThreads) {
+        this.timeout = timeout;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(sendThreads);
+        this.executor.setMaxPoolSize(sendThreads);
+        this.executor.setThreadNamePrefix("dashboard-feed-");
+        this.executor.initialize();
+        Gauge.builder("reports.feed.connections", connections, AtomicInteger::get)
+            .description("Open live dashboard streams")
+            .register(registry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        try {
+            // Tells only this client to fetch the dashboard snapshot. Written first so it precedes any delta;
+            // sends before this method returns are buffered, so the client sees it only once the emitter
+            // has joined its user's set below and no later write can be missed
+            emitter.send(SseEmitter.event().name("ready").data(userId));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        // Joins inside compute so a concurrent remove cannot drop the set this emitter is added to
+        users.compute(userId, (id, current) -> {
+            Subscribers subscribers = current != null ? current : new Subscribers();
+            subscribers.emitters.add(emitter);
+            return subscribers;
+        });
+        connections.incrementAndGet();
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMonthTotalsChanged(MonthTotalsChangedEvent event) {
+        Subscribers subscribers = users.get(event.userId());
+        if (subscribers != null) {
+            subscribers.publish(() -> SseEmitter.event().name("delta").data(event.delta()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Subscribers subscribers = users.get(event.userId());
+        if (subscribers != null && event.months() == null) {
+            subscribers.publish(() -> SseEmitter.event().name("refresh").data(event.userId()));
+        }
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away
+    @Scheduled(fixedDelayString = "${reports.feed.heartbeat:25s}")
+    public void heartbeat() {
+        users.values().forEach(subscribers -> subscribers.publish(() -> SseEmitter.event().comment("")));
+    }
+
+    // Open streams would otherwise hold up the web server's graceful shutdown until they time out
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        users.values().forEach(subscribers -> subscribers.emitters.forEach(SseEmitter::complete));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        AtomicBoolean removed = new AtomicBoolean();
+        users.computeIfPresent(userId, (id, current) -> {
+            removed.set(current.emitters.remove(emitter));
+            return current.emitters.isEmpty() ? null : current;
+        });
+        if (removed.get()) {
+            connections.decrementAndGet();
+        }
+    }
+
+    private final class Subscribers {
+
+        final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        // Builders accumulate state as they are sent, so each emitter gets a fresh one from the supplier
+        final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        void publish(Supplier<SseEmitter.SseEventBuilder> event) {
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = pending.poll()) != null) {
+                    for (SseEmitter emitter : emitters) {
+                        try {
+                            emitter.send(event.get());
+                        } catch (IOException | IllegalStateException e) {
+                            log.debug("Dropping dashboard stream: {}", e.toString());
+                            emitter.completeWithError(e);
+                        } catch (RuntimeException e) {
+                            // e.g. a payload the converter rejects; the other streams still get the event
+                            log.warn("Dropping dashboard stream after a failed send", e);
+                            emitter.completeWithError(e);
+                        }
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.DashboardReport;
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Builds the dashboard from three independent queries run concurrently by
+ * {@link ReportComposer}: one conditional-aggregation scan of the user's
+ * {@code monthly_summary} rows, the total account balance and the latest
+ * transactions. A section that fails or times out is left null and listed in
+ * {@link DashboardReport#unavailable()}. The totals come from the
+ * {@link TransactionAnalyticsIndex} instead when it is enabled.
+ */
+@Service
+public class DashboardReportService {
+
+    static final int RECENT_TRANSACTIONS = 5;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportComposer reportComposer;
+
+    @Autowired(required = false)
+    private TransactionAnalyticsIndex analyticsIndex;
+
+    public DashboardReport getDashboard(Long userId, LocalDate today) {
+        ReportComposer.Composition composition = reportComposer.start();
+        CompletableFuture<DashboardTotals> totals = composition.submit("totals", () -> {
+            DashboardTotals indexed = analyticsIndex != null
+                ? analyticsIndex.dashboardTotals(userId, today.getYear(), today.getMonthValue())
+                : null;
+            return indexed != null
+                ? indexed
+                : monthlySummaryRepository.getDashboardTotals(userId, today.getYear(), today.getMonthValue());
+        });
+        CompletableFuture<Money> totalBalance = composition.submit("totalBalance",
+            () -> Money.ofNullable(accountRepository.getTotalBalanceByUserId(userId)));
+        CompletableFuture<List<TransactionResponse>> recent = composition.submit("recentTransactions",
+            () -> transactionRepository.findLatestResponses(userId, PageRequest.ofSize(RECENT_TRANSACTIONS)));
+        composition.join();
+
+        DashboardTotals t = totals.join();
+        return new DashboardReport(
+            t != null ? PeriodSummary.of(t.monthIncome(), t.monthExpense()) : null,
+            t != null ? PeriodSummary.of(t.yearIncome(), t.yearExpense()) : null,
+            t != null ? (t.transactionCount() != null ? t.transactionCount() : 0L) : null,
+            totalBalance.join(),
+            recent.join(),
+            today.getMonthValue(),
+            today.getYear(),
+            composition.unavailable());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.newspring_backend.service;
+
+import com.example.newspring_backend.dto.DashboardDelta;
+
+/**
+ * Published inside the writing transaction alongside each delta applied to the
+ * {@code monthly_summary} rollup, carrying the same change for live dashboards.
+ */
+public record MonthTotalsChangedEvent(Long userId, DashboardDelta delta) {
+}
@@ -0,0 +1,38 @@
+package com.example.newspring_backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+
+/**
+ * Periodically compares the rollup with the raw transactions and rebuilds the
+ * rollup of any user that has drifted (for example after rows were changed
+ * outside the application).
+ */
+@Component
+public class MonthlySummaryReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryReconcileJob.class);
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Scheduled(cron = "${reports.rollup.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        List<Long> userIds = monthlySummaryRepository.findUsersOutOfSync();
+        for (Long userId : userIds) {
+            int rows = monthlySummaryService.rebuildUser(userId);
+            log.info("Rebuilt monthly summary for user {} ({} rows)", userId, rows);
+        }
+        return userIds.size();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.newspring_backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.DashboardDelta;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+
+/**
+ * Keeps the {@code monthly_summary} rollup in step with transaction writes.
+ * Deltas are applied inside the caller's transaction so the rollup commits or
+ * rolls back together with the raw row. Every change publishes a
+ * {@link TransactionsChangedEvent} for the touched months and a
+ * {@link MonthTotalsChangedEvent} per rollup delta.
+ */
+@Service
+public class MonthlySummaryService {
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Add a transaction's contribution to its rollup cell
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        apply(transaction, 1);
+    }
+
+    // Remove a transaction's contribution from its rollup cell
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction transaction) {
+        apply(transaction, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addDelta(Long userId, Long accountId, Long categoryId, LocalDate date, BigDecimal amount, int sign) {
+        int signum = amount.signum();
+        BigDecimal signed = sign < 0 ? amount.negate() : amount;
+        monthlySummaryRepository.upsertDelta(
+            userId, accountId, categoryId, date.getYear(), date.getMonthValue(),
+            signum > 0 ? signed : BigDecimal.ZERO,
+            signum < 0 ? signed : BigDecimal.ZERO,
+            signum > 0 ? sign : 0,
+            signum < 0 ? sign : 0,
+            sign);
+        long units = Money.toUnits(signed);
+        eventPublisher.publishEvent(new MonthTotalsChangedEvent(userId, DashboardDelta.of(
+            date.getYear(), date.getMonthValue(), signum > 0 ? units : 0, signum < 0 ? units : 0, sign)));
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, date));
+    }
+
+    // Add many transactions of one user, one upsert per touched rollup cell
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Long userId, Collection<Transaction> transactions) {
+        Map<Cell, CellTotals> cells = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Cell cell = new Cell(
+                transaction.getAccount().getId(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+                transaction.getTransactionDate().getYear(),
+                transaction.getTransactionDate().getMonthValue());
+            cells.computeIfAbsent(cell, key -> new CellTotals()).add(transaction.getAmount());
+        }
+        Set<YearMonth> months = new HashSet<>();
+        cells.forEach((cell, totals) -> {
+            monthlySummaryRepository.upsertDelta(
+                userId, cell.accountId(), cell.categoryId(), cell.year(), cell.month(),
+                BigDecimal.valueOf(totals.income, Money.SCALE), BigDecimal.valueOf(totals.expense, Money.SCALE),
+                totals.incomeCount, totals.expenseCount, totals.transactionCount);
+            eventPublisher.publishEvent(new MonthTotalsChangedEvent(userId, DashboardDelta.of(
+                cell.year(), cell.month(), totals.income, totals.expense, totals.transactionCount)));
+            months.add(YearMonth.of(cell.year(), cell.month()));
+        });
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId, months));
+    }
+
+    // Replace a user's rollup rows with a fresh aggregate of their raw transactions; archived years are kept
+    @Transactional
+    public int rebuildUser(Long userId) {
+        monthlySummaryRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(TransactionsChangedEvent.allPeriods(userId));
+        return monthlySummaryRepository.rebuildForUser(userId);
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        addDelta(
+            transaction.getUserId(),
+            transaction.getAccount().getId(),
+            transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+            transaction.getTransactionDate(),
+            transaction.getAmount(),
+            sign);
+    }
+
+    private record Cell(Long accountId, Long categoryId, int year, int month) {
+    }
+
+    // Sums in Money units, so a batch adds without allocating
+    private static final class CellTotals {
+        long income;
+        long expense;
+        long incomeCount;
+        long expenseCount;
+        long transactionCount;
+
+        void add(BigDecimal amount) {
+            long units = Money.toUnits(amount);
+            if (units > 0) {
+                income = Math.addExact(income, units);
+                incomeCount++;
+            } else if (units < 0) {
+                expense = Math.addExact(expense, units);
+                expenseCount++;
+            }
+            transactionCount++;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Report results keyed by user, report type and period. Entries have no TTL;
+ * they are dropped once a committed write touches the same user and an
+ * overlapping month. Each user has a write generation, bumped before the
+ * eviction; a load that saw an older generation than the current one may have
+ * read pre-write rows, so its entry is dropped rather than kept until the next
+ * overlapping write.
+ */
+@Component
+public class ReportCache {
+
+    public static final String CACHE_NAME = "reports";
+
+    // Period is the half-open date range [from, to); categoryId only for category reports
+    public record Key(Long userId, String type, LocalDate from, LocalDate to, Long categoryId) {
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public <T> T get(Key key, Callable<T> loader) {
+        AtomicLong generation = generation(key.userId());
+        long[] loadedAt = {-1};
+        T value = cache().get(key, () -> {
+            loadedAt[0] = generation.get();
+            return loader.call();
+        });
+        // A write committed while this load ran; the eviction may already have passed the new entry
+        if (loadedAt[0] >= 0 && generation.get() != loadedAt[0]) {
+            cache().evict(key);
+        }
+        return value;
+    }
+
+    // Runs after commit so a concurrent read cannot re-cache the pre-write totals
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        generation(event.userId()).incrementAndGet();
+        cache().getNativeCache().asMap().keySet().removeIf(key -> key instanceof Key k
+            && k.userId().equals(event.userId())
+            && event.touches(k.from(), k.to()));
+    }
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private CaffeineCache cache() {
+        return (CaffeineCache) cacheManager.getCache(CACHE_NAME);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.newspring_backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.config.ReadRouting;
+import com.example.newspring_backend.config.SqlStatementScope;
+
+/**
+ * Runs independent read-only report queries concurrently and joins them, so a
+ * composed report takes about as long as its slowest part rather than the sum.
+ * Each part gets its own read-only transaction, and with it its own pooled
+ * connection, and a deadline that also becomes the JDBC statement timeout. A
+ * part that fails, times out or is rejected by the bounded executor is reported
+ * as unavailable instead of failing the whole report.
+ */
+@Component
+public class ReportComposer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportComposer.class);
+
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration timeout;
+
+    public ReportComposer(PlatformTransactionManager transactionManager,
+                          @Value("${reports.compose.timeout:2s}") Duration timeout,
+                          @Value("${reports.compose.max-concurrency:8}") int maxConcurrency,
+                          @Value("${reports.compose.queue-capacity:100}") int queueCapacity,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.timeout = timeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Whole seconds, rounded up: the database gives up no earlier than the caller does
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        this.executor = virtualThreads
+            ? virtualThreadExecutor(maxConcurrency)
+            : platformThreadExecutor(maxConcurrency, queueCapacity);
+    }
+
+    public Composition start() {
+        return new Composition();
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+
+    // Virtual threads are cheap, so no queue; the limit keeps parts from draining the connection pool
+    private static AsyncTaskExecutor virtualThreadExecutor(int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("report-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrency);
+        return executor;
+    }
+
+    private static AsyncTaskExecutor platformThreadExecutor(int maxConcurrency, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("report-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * One fan-out: {@link #submit} every part first, then {@link #join} once.
+     */
+    public class Composition {
+
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+        private final List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        public <T> CompletableFuture<T> submit(String name, Supplier<T> query) {
+            // SQL a part runs counts toward the request that composed it, and reads where the request reads
+            Supplier<T> task = SqlStatementScope.propagate(ReadRouting.propagate(
+                () -> readOnlyTransaction.execute(status -> query.get())));
+            CompletableFuture<T> future;
+            try {
+                future = CompletableFuture
+                    .supplyAsync(task, executor)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> {
+                        log.warn("Report part '{}' unavailable: {}", name, ex.toString());
+                        unavailable.add(name);
+                        return null;
+                    });
+            } catch (RejectedExecutionException ex) {
+                log.warn("Report part '{}' rejected, executor saturated", name);
+                unavailable.add(name);
+                future = CompletableFuture.completedFuture(null);
+            }
+            futures.add(future);
+            return future;
+        }
+
+        // Bounded by the per-part timeout; parts never complete exceptionally
+        public void join() {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+
+        // Names of the parts whose value is null because they failed, in completion order
+        public List<String> unavailable() {
+            synchronized (unavailable) {
+                return List.copyOf(unavailable);
+            }
+        }
+    }
+}
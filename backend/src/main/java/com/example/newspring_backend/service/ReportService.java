@@ -0,0 +1,113 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.dto.PeriodTotals;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Monthly, yearly and category reports served from the {@code monthly_summary}
+ * rollup. Only partial months at the edges of a category range touch the raw
+ * transactions. Results are cached per user and period in {@link ReportCache};
+ * a cache hit does not open a database transaction. With the
+ * {@link TransactionAnalyticsIndex} enabled, reports it can answer skip both.
+ */
+@Service
+public class ReportService {
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired(required = false)
+    private TransactionAnalyticsIndex analyticsIndex;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public PeriodSummary getMonthlySummary(Long userId, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        PeriodSummary indexed = analyticsIndex != null ? analyticsIndex.summary(userId, start, start.plusMonths(1)) : null;
+        if (indexed != null) {
+            return indexed;
+        }
+        ReportCache.Key key = new ReportCache.Key(userId, "monthly", start, start.plusMonths(1), null);
+        return reportCache.get(key, () -> readOnlyTransaction.execute(status -> {
+            PeriodTotals totals = monthlySummaryRepository.getMonthTotals(userId, year, month);
+            return PeriodSummary.of(totals.income(), totals.expense());
+        }));
+    }
+
+    public PeriodSummary getYearlySummary(Long userId, int year) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        PeriodSummary indexed = analyticsIndex != null ? analyticsIndex.summary(userId, start, start.plusYears(1)) : null;
+        if (indexed != null) {
+            return indexed;
+        }
+        ReportCache.Key key = new ReportCache.Key(userId, "yearly", start, start.plusYears(1), null);
+        return reportCache.get(key, () -> readOnlyTransaction.execute(status -> {
+            PeriodTotals totals = monthlySummaryRepository.getYearTotals(userId, year);
+            return PeriodSummary.of(totals.income(), totals.expense());
+        }));
+    }
+
+    // Net total of a category over [startDate, endDate], both inclusive
+    public Money getCategoryTotal(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return Money.zero(Money.DEFAULT_CURRENCY);
+        }
+        Money indexed = analyticsIndex != null
+            ? analyticsIndex.categoryTotal(userId, categoryId, startDate, endDate.plusDays(1))
+            : null;
+        if (indexed != null) {
+            return indexed;
+        }
+        ReportCache.Key key = new ReportCache.Key(userId, "category", startDate, endDate.plusDays(1), categoryId);
+        return reportCache.get(key, () -> readOnlyTransaction.execute(
+            status -> computeCategoryTotal(userId, categoryId, startDate, endDate)));
+    }
+
+    private Money computeCategoryTotal(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+
+        // Whole months inside the range: [firstMonth, endMonth)
+        LocalDate firstMonth = startDate.getDayOfMonth() == 1 ? startDate : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate endMonth = endDate.plusDays(1).getDayOfMonth() == 1 ? endDate.plusDays(1) : endDate.withDayOfMonth(1);
+
+        if (!firstMonth.isBefore(endMonth)) {
+            return Money.ofNullable(transactionRepository.getTotalByCategory(userId, categoryId, startDate, endDate));
+        }
+
+        Money total = Money.ofNullable(monthlySummaryRepository.getCategoryTotal(
+            userId, categoryId, monthIndex(firstMonth), monthIndex(endMonth)));
+        if (startDate.isBefore(firstMonth)) {
+            total = total.plus(Money.ofNullable(transactionRepository.getTotalByCategory(
+                userId, categoryId, startDate, firstMonth.minusDays(1))));
+        }
+        if (!endDate.isBefore(endMonth)) {
+            total = total.plus(Money.ofNullable(transactionRepository.getTotalByCategory(
+                userId, categoryId, endMonth, endDate)));
+        }
+        return total;
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
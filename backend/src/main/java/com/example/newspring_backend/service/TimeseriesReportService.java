@@ -0,0 +1,105 @@
+package com.example.newspring_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.dto.TimeseriesPoint;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Income/expense time series over a date range in day, week or month buckets,
+ * optionally split by category or account. The whole series comes from one
+ * grouped query and is written to the response as the rows arrive. A monthly
+ * series over whole months is read from the {@code monthly_summary} rollup;
+ * anything else aggregates the raw transactions. Buckets without transactions
+ * are omitted.
+ */
+@Service
+public class TimeseriesReportService {
+
+    public enum Bucket {
+        DAY, WEEK, MONTH;
+
+        public static Bucket parse(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+
+        // date_trunc field name
+        String field() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum GroupBy {
+        NONE, CATEGORY, ACCOUNT;
+
+        // Absent or blank means one ungrouped series
+        public static GroupBy parse(String value) {
+            return value == null || value.isBlank() ? NONE : valueOf(value.toUpperCase(Locale.ROOT));
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // [from, to] with both ends inclusive, written as {"userId", "from", "to", "bucket", "groupBy", "points": [...]}
+    @Transactional(readOnly = true)
+    public void write(OutputStream out, Long userId, LocalDate from, LocalDate to, Bucket bucket, GroupBy groupBy)
+            throws IOException {
+        try (Stream<TimeseriesPoint> points = points(userId, from, to, bucket, groupBy)) {
+            ObjectWriter pointWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("userId", userId);
+            generator.writeStringField("from", from.toString());
+            generator.writeStringField("to", to.toString());
+            generator.writeStringField("bucket", bucket.field());
+            generator.writeStringField("groupBy", groupBy.key());
+            generator.writeArrayFieldStart("points");
+            Iterator<TimeseriesPoint> rows = points.iterator();
+            while (rows.hasNext()) {
+                pointWriter.writeValue(generator, rows.next());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    private Stream<TimeseriesPoint> points(Long userId, LocalDate from, LocalDate to, Bucket bucket, GroupBy groupBy) {
+        LocalDate end = to.plusDays(1);
+        if (bucket == Bucket.MONTH && from.getDayOfMonth() == 1 && end.getDayOfMonth() == 1) {
+            return monthlySummaryRepository.streamMonthlyTimeseries(
+                userId, groupBy.key(), monthIndex(from), monthIndex(end));
+        }
+        return transactionRepository.streamTimeseries(userId, bucket.field(), groupBy.key(), from, end);
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.example.newspring_backend.config.ReadRouting;
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.TransactionPartitionRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process report engine, enabled with {@code reports.analytics.enabled}.
+ * Keeps the {@link TransactionColumns} of recently reporting users, loaded on
+ * first use and evicted by Caffeine once their arrays exceed
+ * {@code reports.analytics.max-memory}. {@link TransactionService} applies its
+ * writes after commit; imports and account or category deletions drop the
+ * user so the next report reloads. Queries return {@code null} when the index
+ * cannot answer (a period reaching into an archived year, or a sum beyond the
+ * scaled range) and callers fall back to SQL.
+ */
+@Component
+@ConditionalOnProperty(name = "reports.analytics.enabled", havingValue = "true")
+public class TransactionAnalyticsIndex {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionPartitionRepository transactionPartitionRepository;
+    private final TransactionTemplate loadTransaction;
+    private final Cache<Long, TransactionColumns> users;
+
+    // Rows before this epoch day may be archived, so loaded columns would be missing them
+    private volatile int firstLiveDay = Integer.MIN_VALUE;
+
+    public TransactionAnalyticsIndex(TransactionRepository transactionRepository,
+                                     TransactionPartitionRepository transactionPartitionRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry registry,
+                                     @Value("${reports.analytics.max-memory:256MB}") DataSize maxMemory) {
+        this.transactionRepository = transactionRepository;
+        this.transactionPartitionRepository = transactionPartitionRepository;
+        // Own transaction: a load started from a report part must not reuse that part's replica connection
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.users = Caffeine.newBuilder()
+            .maximumWeight(maxMemory.toBytes())
+            .weigher((Long userId, TransactionColumns columns) -> (int) Math.min(columns.bytes(), Integer.MAX_VALUE))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, users, "transactionColumns");
+    }
+
+    public PeriodSummary summary(Long userId, LocalDate from, LocalDate to) {
+        return query(userId, from, columns -> {
+            TransactionColumns.Totals totals = new TransactionColumns.Totals();
+            columns.sum(epochDay(from), epochDay(to), totals);
+            return PeriodSummary.of(totals.income(), totals.expense());
+        });
+    }
+
+    // Net total of a category over the half-open range [from, to)
+    public Money categoryTotal(Long userId, Long categoryId, LocalDate from, LocalDate to) {
+        return query(userId, from, columns -> {
+            TransactionColumns.Totals totals = new TransactionColumns.Totals();
+            columns.sumCategory(epochDay(from), epochDay(to), categoryId, totals);
+            return totals.net();
+        });
+    }
+
+    // Current month and year sums plus lifetime count, as MonthlySummaryRepository.getDashboardTotals
+    public DashboardTotals dashboardTotals(Long userId, int year, int month) {
+        LocalDate yearStart = LocalDate.of(year, 1, 1);
+        LocalDate monthStart = LocalDate.of(year, month, 1);
+        // The lifetime count spans every year, archived ones included
+        return query(userId, null, columns -> {
+            TransactionColumns.Totals monthTotals = new TransactionColumns.Totals();
+            TransactionColumns.Totals yearTotals = new TransactionColumns.Totals();
+            columns.sum(epochDay(monthStart), epochDay(monthStart.plusMonths(1)), monthTotals);
+            columns.sum(epochDay(yearStart), epochDay(yearStart.plusYears(1)), yearTotals);
+            return new DashboardTotals(monthTotals.income().toBigDecimal(), monthTotals.expense().toBigDecimal(),
+                yearTotals.income().toBigDecimal(), yearTotals.expense().toBigDecimal(), (long) columns.size());
+        });
+    }
+
+    // Applies a saved row to its user's columns once the writing transaction commits
+    public void saved(Transaction transaction) {
+        long id = transaction.getId();
+        int day = epochDay(transaction.getTransactionDate());
+        long amount = Money.toUnits(transaction.getAmount());
+        long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : 0L;
+        long accountId = transaction.getAccount().getId();
+        Long userId = transaction.getUserId();
+        afterCommit(() -> users.asMap().computeIfPresent(userId, (key, columns) -> {
+            columns.upsert(id, day, amount, categoryId, accountId);
+            return columns;
+        }));
+    }
+
+    public void deleted(Transaction transaction) {
+        long id = transaction.getId();
+        Long userId = transaction.getUserId();
+        afterCommit(() -> users.asMap().computeIfPresent(userId, (key, columns) -> {
+            columns.remove(id);
+            return columns;
+        }));
+    }
+
+    // For bulk writes that bypass saved/deleted
+    public void invalidate(Long userId) {
+        afterCommit(() -> users.invalidate(userId));
+    }
+
+    // Account and category deletions change rows without a per-row delta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (event.months() == null) {
+            users.invalidate(event.userId());
+        }
+    }
+
+    // from is the earliest date the scan reads, null for the whole history
+    private <T> T query(Long userId, LocalDate from, Function<TransactionColumns, T> scan) {
+        TransactionColumns columns = users.get(userId, this::load);
+        if (firstLiveDay != Integer.MIN_VALUE && (from == null || epochDay(from) < firstLiveDay)) {
+            return null;
+        }
+        try {
+            return scan.apply(columns);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Runs inside the cache's compute for this user, so an after-commit delta for the same user waits for it
+    private TransactionColumns load(Long userId) {
+        // From the primary: a write already applied to the (then absent) columns must be in the snapshot
+        try (ReadRouting primary = ReadRouting.pinToPrimary()) {
+            return loadTransaction.execute(status -> {
+                List<Integer> archived = transactionPartitionRepository.findArchivedYears();
+                firstLiveDay = archived.isEmpty()
+                    ? Integer.MIN_VALUE
+                    : epochDay(LocalDate.of(archived.get(archived.size() - 1) + 1, 1, 1));
+                TransactionColumns columns = new TransactionColumns();
+                try (Stream<Object[]> rows = transactionRepository.streamColumnsByUserId(userId)) {
+                    rows.forEach(row -> columns.append(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).intValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        ((Number) row[4]).longValue()));
+                }
+                return columns;
+            });
+        }
+    }
+
+    private static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.newspring_backend.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import com.example.newspring_backend.domain.Money;
+
+/**
+ * One user's transactions as parallel primitive arrays ordered by date: epoch
+ * day, amount in {@link Money} units, category id (0 for none), account id and
+ * row id.
+ * Range scans binary-search the date column and sum without allocating;
+ * overflow throws {@link ArithmeticException} rather than wrapping. Writers
+ * keep the date order by inserting in place, and find an existing row through
+ * an id-to-day hash index and a binary search of that day, not a scan.
+ */
+public final class TransactionColumns {
+
+    // Bytes per row across the five arrays
+    private static final int ROW_BYTES = Integer.BYTES + 4 * Long.BYTES;
+    // Bytes per slot of the id index
+    private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Sums of one scan. Expense is kept negative, as stored.
+     */
+    public static final class Totals {
+        long income;
+        long expense;
+        long count;
+
+        public Money income() {
+            return new Money(income, Money.DEFAULT_CURRENCY);
+        }
+
+        public Money expense() {
+            return new Money(expense, Money.DEFAULT_CURRENCY);
+        }
+
+        public Money net() {
+            return new Money(Math.addExact(income, expense), Money.DEFAULT_CURRENCY);
+        }
+
+        public long count() {
+            return count;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private int[] days;
+    private long[] amounts;
+    private long[] categoryIds;
+    private long[] accountIds;
+    private long[] ids;
+    private int size;
+    // Date of each row by id; unlike a row position it survives inserts and removals elsewhere
+    private final DayIndex dayById;
+
+    public TransactionColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TransactionColumns(int capacity) {
+        int initial = Math.max(capacity, 1);
+        days = new int[initial];
+        amounts = new long[initial];
+        categoryIds = new long[initial];
+        accountIds = new long[initial];
+        ids = new long[initial];
+        dayById = new DayIndex(initial);
+    }
+
+    // Rows must arrive in date order; used while loading, before the columns are shared
+    public void append(long id, int day, long amount, long categoryId, long accountId) {
+        ensureCapacity(size + 1);
+        set(size++, id, day, amount, categoryId, accountId);
+    }
+
+    // Inserts the row, replacing any row with the same id, so replaying a write is harmless
+    public void upsert(long id, int day, long amount, long categoryId, long accountId) {
+        long stamp = lock.writeLock();
+        try {
+            removeRow(id);
+            ensureCapacity(size + 1);
+            int at = upperBound(day);
+            shift(at, at + 1, size - at);
+            set(at, id, day, amount, categoryId, accountId);
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            return removeRow(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Income, expense and count over the epoch-day range [fromDay, toDay)
+    public void sum(int fromDay, int toDay, Totals totals) {
+        long stamp = lock.readLock();
+        try {
+            int end = lowerBound(toDay);
+            for (int i = lowerBound(fromDay); i < end; i++) {
+                add(amounts[i], totals);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // As sum, restricted to one category
+    public void sumCategory(int fromDay, int toDay, long categoryId, Totals totals) {
+        long stamp = lock.readLock();
+        try {
+            int end = lowerBound(toDay);
+            for (int i = lowerBound(fromDay); i < end; i++) {
+                if (categoryIds[i] == categoryId) {
+                    add(amounts[i], totals);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Heap held by the arrays, for the index's memory budget
+    public long bytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) ids.length * ROW_BYTES + (long) dayById.capacity() * SLOT_BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static void add(long amount, Totals totals) {
+        if (amount > 0) {
+            totals.income = Math.addExact(totals.income, amount);
+        } else if (amount < 0) {
+            totals.expense = Math.addExact(totals.expense, amount);
+        }
+        totals.count++;
+    }
+
+    private boolean removeRow(long id) {
+        int day = dayById.remove(id);
+        if (day == DayIndex.ABSENT) {
+            return false;
+        }
+        // Only the rows of that day are compared
+        int end = upperBound(day);
+        for (int i = lowerBound(day); i < end; i++) {
+            if (ids[i] == id) {
+                shift(i + 1, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        throw new IllegalStateException("Transaction " + id + " is indexed on a day it is not stored under");
+    }
+
+    // First row dated on or after day
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First row dated after day
+    private int upperBound(int day) {
+        return day == Integer.MAX_VALUE ? size : lowerBound(day + 1);
+    }
+
+    private void set(int i, long id, int day, long amount, long categoryId, long accountId) {
+        dayById.put(id, day);
+        ids[i] = id;
+        days[i] = day;
+        amounts[i] = amount;
+        categoryIds[i] = categoryId;
+        accountIds[i] = accountId;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(days, from, days, to, length);
+        System.arraycopy(amounts, from, amounts, to, length);
+        System.arraycopy(categoryIds, from, categoryIds, to, length);
+        System.arraycopy(accountIds, from, accountIds, to, length);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        days = Arrays.copyOf(days, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        accountIds = Arrays.copyOf(accountIds, capacity);
+    }
+
+    /**
+     * Open-addressing map from row id to epoch day over primitive arrays, with
+     * linear probing and backward-shift deletion so removals leave no
+     * tombstones. Grows at three-quarters full.
+     */
+    private static final class DayIndex {
+
+        static final int ABSENT = Integer.MIN_VALUE;
+
+        // Slot marker; id 0 is kept outside the table
+        private static final long FREE = 0;
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+        private int zeroDay = ABSENT;
+
+        DayIndex(int expected) {
+            allocate(Math.max(Integer.highestOneBit(Math.max(expected, 2) * 4 / 3) << 1, 4));
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        void put(long id, int day) {
+            if (id == FREE) {
+                zeroDay = day;
+                return;
+            }
+            int slot = slot(id);
+            while (keys[slot] != FREE) {
+                if (keys[slot] == id) {
+                    values[slot] = day;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = day;
+            if (++size > keys.length * 3 / 4) {
+                grow();
+            }
+        }
+
+        // The removed id's day, or ABSENT
+        int remove(long id) {
+            if (id == FREE) {
+                int day = zeroDay;
+                zeroDay = ABSENT;
+                return day;
+            }
+            int slot = slot(id);
+            while (keys[slot] != id) {
+                if (keys[slot] == FREE) {
+                    return ABSENT;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int day = values[slot];
+            size--;
+            // Pull later entries of the probe run back into the gap so lookups never stop early
+            int gap = slot;
+            for (int i = (slot + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+                if (((i - slot(keys[i])) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = FREE;
+            return day;
+        }
+
+        private int slot(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(oldKeys.length << 1);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    int slot = slot(oldKeys[i]);
+                    while (keys[slot] != FREE) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+    }
+}
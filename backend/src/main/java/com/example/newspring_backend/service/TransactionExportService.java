@@ -0,0 +1,131 @@
+package com.example.newspring_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.dto.TransactionExportRow;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes a user's transactions to an output stream row by row straight off a
+ * forward-only database cursor, so memory use does not grow with the history.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    private static final String CSV_HEADER =
+        "id,transactionDate,amount,currency,description,notes,accountId,accountName,categoryId,categoryName";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Same filters as the filtered listing; all but userId are optional
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out, Long userId, Long accountId, Long categoryId,
+                       LocalDate startDate, LocalDate endDate, BigDecimal minAmount, BigDecimal maxAmount)
+            throws IOException {
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamForExport(new TransactionFilter(
+                userId, accountId, categoryId, startDate, endDate, minAmount, maxAmount))) {
+            if (format == Format.NDJSON) {
+                writeNdjson(rows.iterator(), out);
+            } else {
+                writeCsv(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(String.valueOf(row.transactionDate()));
+            writer.write(',');
+            writer.write(row.amount().toPlainString());
+            writer.write(',');
+            writeCsvField(writer, row.currency());
+            writer.write(',');
+            writeCsvField(writer, row.description());
+            writer.write(',');
+            writeCsvField(writer, row.notes());
+            writer.write(',');
+            writer.write(String.valueOf(row.accountId()));
+            writer.write(',');
+            writeCsvField(writer, row.accountName());
+            writer.write(',');
+            if (row.categoryId() != null) {
+                writer.write(String.valueOf(row.categoryId()));
+            }
+            writer.write(',');
+            writeCsvField(writer, row.categoryName());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    // RFC 4180 quoting: only fields containing a separator, quote or line break are quoted
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNdjson(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.newspring_backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.ImportResult;
+import com.example.newspring_backend.dto.TransactionImportRow;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Bulk transaction import. The payload is parsed and validated before any
+ * database work; valid rows are then inserted in one transaction through
+ * JDBC-batched inserts, flushing and clearing the persistence context every
+ * {@value #BATCH_SIZE} rows. Invalid rows are skipped and reported.
+ */
+@Service
+public class TransactionImportService {
+
+    // Keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    static final int BATCH_SIZE = 500;
+
+    private static final int MAX_CURRENCY_LENGTH = 10;
+    private static final int MAX_AMOUNT_SCALE = 4;
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 15;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private TransactionAnalyticsIndex analyticsIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // CSV with a header row; accountId, amount and transactionDate columns are required
+    public ImportResult importCsv(Long userId, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        List<ParsedRow> rows = new ArrayList<>();
+        List<ImportResult.RowError> errors = new ArrayList<>();
+
+        CsvLineReader reader = new CsvLineReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV payload is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("accountid", "amount", "transactiondate")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column " + required);
+            }
+        }
+
+        int rowNumber = 0;
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            rowNumber++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                rows.add(new ParsedRow(rowNumber, new TransactionImportRow(
+                    parseLong(field(fields, columns, "accountid")),
+                    parseLong(field(fields, columns, "categoryid")),
+                    parseAmount(field(fields, columns, "amount")),
+                    parseDate(field(fields, columns, "transactiondate")),
+                    field(fields, columns, "currency"),
+                    field(fields, columns, "description"),
+                    field(fields, columns, "notes"))));
+            } catch (IllegalArgumentException e) {
+                errors.add(new ImportResult.RowError(rowNumber, e.getMessage()));
+            }
+        }
+        return importRows(userId, rows, errors, rowNumber, start);
+    }
+
+    // JSON array of TransactionImportRow objects
+    public ImportResult importJson(Long userId, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        List<ParsedRow> rows = new ArrayList<>();
+        List<ImportResult.RowError> errors = new ArrayList<>();
+
+        int rowNumber = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON payload must be an array");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                rowNumber++;
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    rows.add(new ParsedRow(rowNumber, objectMapper.treeToValue(node, TransactionImportRow.class)));
+                } catch (JsonProcessingException e) {
+                    errors.add(new ImportResult.RowError(rowNumber, e.getOriginalMessage()));
+                }
+            }
+        }
+        return importRows(userId, rows, errors, rowNumber, start);
+    }
+
+    private ImportResult importRows(Long userId, List<ParsedRow> rows, List<ImportResult.RowError> errors,
+                                    int totalRows, long startNanos) {
+        Integer imported = transactionTemplate.execute(status -> {
+            // Resolve the user's accounts and categories once for the whole import
+            Map<Long, Account> accounts = accountRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+            Map<Long, Category> categories = categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+            List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+            int count = 0;
+            for (ParsedRow parsed : rows) {
+                String error = validate(parsed.data(), accounts, categories);
+                if (error != null) {
+                    errors.add(new ImportResult.RowError(parsed.row(), error));
+                    continue;
+                }
+
+                TransactionImportRow data = parsed.data();
+                Transaction transaction = new Transaction(
+                    accounts.get(data.accountId()),
+                    data.categoryId() != null ? categories.get(data.categoryId()) : null,
+                    data.amount(),
+                    data.transactionDate(),
+                    data.description());
+                if (data.currency() != null && !data.currency().isBlank()) {
+                    transaction.setCurrency(data.currency());
+                }
+                transaction.setNotes(data.notes());
+                entityManager.persist(transaction);
+                batch.add(transaction);
+                count++;
+
+                if (batch.size() == BATCH_SIZE) {
+                    flushBatch(userId, batch);
+                }
+            }
+            flushBatch(userId, batch);
+            return count;
+        });
+
+        errors.sort((a, b) -> Integer.compare(a.row(), b.row()));
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos > 0 ? imported * 1_000_000_000d / elapsedNanos : 0;
+        return new ImportResult(totalRows, imported, errors, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+
+    private void flushBatch(Long userId, List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        monthlySummaryService.addAll(userId, batch);
+        // One balance update per account touched by the batch, in id order to keep lock order stable
+        Map<Long, Money> deltas = new TreeMap<>();
+        for (Transaction transaction : batch) {
+            Account account = transaction.getAccount();
+            deltas.merge(account.getId(), Money.ofOrDefaultCurrency(transaction.getAmount(), account.getCurrency()), Money::plus);
+        }
+        deltas.forEach(accountBalanceService::adjust);
+        if (analyticsIndex != null) {
+            analyticsIndex.invalidate(userId);
+        }
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private static String validate(TransactionImportRow row, Map<Long, Account> accounts, Map<Long, Category> categories) {
+        if (row.accountId() == null) {
+            return "accountId is required";
+        }
+        if (!accounts.containsKey(row.accountId())) {
+            return "account " + row.accountId() + " does not belong to the user";
+        }
+        if (row.categoryId() != null && !categories.containsKey(row.categoryId())) {
+            return "category " + row.categoryId() + " does not belong to the user";
+        }
+        if (row.amount() == null) {
+            return "amount is required";
+        }
+        if (row.amount().scale() > MAX_AMOUNT_SCALE
+                || row.amount().precision() - row.amount().scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            return "amount " + row.amount().toPlainString() + " does not fit NUMERIC(19,4)";
+        }
+        if (row.amount().abs().compareTo(Money.MAX) > 0) {
+            return "amount " + row.amount().toPlainString() + " is beyond the supported range";
+        }
+        if (row.transactionDate() == null) {
+            return "transactionDate is required";
+        }
+        if (row.currency() != null && row.currency().length() > MAX_CURRENCY_LENGTH) {
+            return "currency is longer than " + MAX_CURRENCY_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a valid id: " + value);
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a valid amount: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("not an ISO date: " + value);
+        }
+    }
+
+    private record ParsedRow(int row, TransactionImportRow data) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps transaction partitions {@code ahead-years} past the current year and,
+ * when {@code archive-after-years} is positive, archives years that far behind it.
+ */
+@Component
+public class TransactionPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionJob.class);
+
+    private final TransactionPartitionService transactionPartitionService;
+    private final int aheadYears;
+    private final int archiveAfterYears;
+
+    public TransactionPartitionJob(TransactionPartitionService transactionPartitionService,
+                                   @Value("${transactions.partitions.ahead-years:1}") int aheadYears,
+                                   @Value("${transactions.partitions.archive-after-years:0}") int archiveAfterYears) {
+        this.transactionPartitionService = transactionPartitionService;
+        this.aheadYears = aheadYears;
+        this.archiveAfterYears = archiveAfterYears;
+    }
+
+    @Scheduled(cron = "${transactions.partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now().getYear());
+    }
+
+    public void maintain(int currentYear) {
+        List<Integer> created = transactionPartitionService.ensurePartitions(currentYear, currentYear + aheadYears);
+        if (!created.isEmpty()) {
+            log.info("Created transaction partitions for {}", created);
+        }
+        if (archiveAfterYears > 0) {
+            List<Integer> archived = transactionPartitionService.archiveBefore(currentYear - archiveAfterYears);
+            if (!archived.isEmpty()) {
+                log.info("Archived transaction partitions for {}", archived);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.newspring_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.repository.TransactionPartitionRepository;
+
+/**
+ * Creates and archives the yearly {@code transaction} partitions. Rows dated
+ * in a year without a partition land in {@code transaction_default}; creating
+ * that year's partition moves them out, so date-bounded queries can skip the
+ * default partition again. Archiving detaches a past year as its own table and
+ * keeps the year's {@code monthly_summary} rows as its reporting history.
+ */
+@Service
+public class TransactionPartitionService {
+
+    @Autowired
+    private TransactionPartitionRepository transactionPartitionRepository;
+
+    // Partitions for fromYear..toYear plus any year stranded in the default partition; returns the years created
+    @Transactional
+    public List<Integer> ensurePartitions(int fromYear, int toYear) {
+        TreeSet<Integer> years = new TreeSet<>(transactionPartitionRepository.findYearsInDefaultPartition());
+        for (int year = fromYear; year <= toYear; year++) {
+            years.add(year);
+        }
+        years.removeAll(transactionPartitionRepository.findArchivedYears());
+        List<Integer> created = new ArrayList<>();
+        for (int year : years) {
+            if (transactionPartitionRepository.ensurePartition(year)) {
+                created.add(year);
+            }
+        }
+        return created;
+    }
+
+    // Detaches every partition older than oldestKeptYear; returns the years archived
+    @Transactional
+    public List<Integer> archiveBefore(int oldestKeptYear) {
+        List<Integer> archived = new ArrayList<>();
+        for (int year : transactionPartitionRepository.findPartitionYears()) {
+            if (year < oldestKeptYear && transactionPartitionRepository.archivePartition(year) != null) {
+                archived.add(year);
+            }
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.newspring_backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.newspring_backend.dto.CursorPage;
+import com.example.newspring_backend.dto.SearchCursor;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.dto.TransactionSearchHit;
+import com.example.newspring_backend.repository.LikePatterns;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Ranked transaction search over description and notes. Each window is one
+ * indexed query that fetches a row more than asked to learn whether another
+ * window follows, so deep pages cost the same as the first.
+ */
+@Service
+public class TransactionSearchService {
+
+    static final int MAX_SIZE = 100;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    // Blank queries, malformed cursors and sizes outside 1..MAX_SIZE throw IllegalArgumentException
+    public CursorPage<TransactionResponse> search(Long userId, String query, String cursor, int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        String text = query == null ? "" : query.strip();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Search query is empty");
+        }
+        SearchCursor after = SearchCursor.decode(cursor);
+        List<TransactionSearchHit> hits = transactionRepository.searchAfter(
+            userId, text, LikePatterns.contains(text), after.score(), after.id(), size + 1);
+
+        boolean hasNext = hits.size() > size;
+        List<TransactionSearchHit> window = hasNext ? hits.subList(0, size) : hits;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionSearchHit last = window.get(window.size() - 1);
+            nextCursor = new SearchCursor(last.score(), last.id()).encode();
+        }
+        List<TransactionResponse> content = window.stream().map(TransactionSearchHit::toResponse).toList();
+        return new CursorPage<>(content, content.size(), nextCursor, hasNext);
+    }
+}
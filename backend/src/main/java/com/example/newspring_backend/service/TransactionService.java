@@ -0,0 +1,114 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newspring_backend.domain.Money;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.CategoryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Transaction write paths. Each write and its derived data (the monthly
+ * rollup and the account balance) commit in one database transaction; the
+ * response is built before the session closes. The analytics index, when
+ * enabled, picks the change up after commit.
+ */
+@Service
+public class TransactionService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired(required = false)
+    private TransactionAnalyticsIndex analyticsIndex;
+
+    // Empty when the account or the (optional) category does not exist
+    @Transactional
+    public Optional<TransactionResponse> create(Transaction transaction, Long accountId, Long categoryId) {
+        Optional<Account> accountOpt = accountRepository.findById(accountId);
+        if (accountOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (categoryId != null) {
+            Optional<Category> categoryOpt = categoryRepository.findById(categoryId);
+            if (categoryOpt.isEmpty()) {
+                return Optional.empty();
+            }
+            transaction.setCategory(categoryOpt.get());
+        }
+
+        transaction.setAccount(accountOpt.get());
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        monthlySummaryService.add(savedTransaction);
+        accountBalanceService.adjust(accountId, amountOf(savedTransaction));
+        if (analyticsIndex != null) {
+            analyticsIndex.saved(savedTransaction);
+        }
+        return Optional.of(TransactionResponse.from(savedTransaction));
+    }
+
+    @Transactional
+    public Optional<TransactionResponse> update(Long id, Transaction transactionDetails) {
+        return transactionRepository.findById(id)
+            .map(transaction -> {
+                monthlySummaryService.remove(transaction);
+                long previousUnits = Money.toUnits(transaction.getAmount());
+                transaction.setAmount(transactionDetails.getAmount());
+                transaction.setDescription(transactionDetails.getDescription());
+                transaction.setTransactionDate(transactionDetails.getTransactionDate());
+                transaction.setNotes(transactionDetails.getNotes());
+                transaction.setCurrency(transactionDetails.getCurrency());
+                transaction.setUpdatedAt(LocalDateTime.now());
+                Transaction savedTransaction = transactionRepository.save(transaction);
+                monthlySummaryService.add(savedTransaction);
+                Money amount = amountOf(savedTransaction);
+                accountBalanceService.adjust(
+                    savedTransaction.getAccount().getId(), amount.minus(new Money(previousUnits, amount.currency())));
+                if (analyticsIndex != null) {
+                    analyticsIndex.saved(savedTransaction);
+                }
+                return TransactionResponse.from(savedTransaction);
+            });
+    }
+
+    @Transactional
+    public boolean delete(Long id) {
+        return transactionRepository.findById(id)
+            .map(transaction -> {
+                monthlySummaryService.remove(transaction);
+                transactionRepository.delete(transaction);
+                accountBalanceService.adjust(transaction.getAccount().getId(), amountOf(transaction).negate());
+                if (analyticsIndex != null) {
+                    analyticsIndex.deleted(transaction);
+                }
+                return true;
+            })
+            .orElse(false);
+    }
+
+    private static Money amountOf(Transaction transaction) {
+        return Money.ofOrDefaultCurrency(transaction.getAmount(), transaction.getCurrency());
+    }
+}
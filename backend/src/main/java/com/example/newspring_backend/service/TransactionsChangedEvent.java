@@ -0,0 +1,34 @@
+package com.example.newspring_backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Published inside the writing transaction whenever a user's transactions (and
+ * therefore their rollup) change. {@code months} lists the calendar months
+ * touched; {@code null} means any period may have changed.
+ */
+public record TransactionsChangedEvent(Long userId, Set<YearMonth> months) {
+
+    public static TransactionsChangedEvent of(Long userId, LocalDate date) {
+        return new TransactionsChangedEvent(userId, Set.of(YearMonth.from(date)));
+    }
+
+    public static TransactionsChangedEvent allPeriods(Long userId) {
+        return new TransactionsChangedEvent(userId, null);
+    }
+
+    // Whether any touched month overlaps the half-open range [from, to)
+    public boolean touches(LocalDate from, LocalDate to) {
+        if (months == null) {
+            return true;
+        }
+        for (YearMonth month : months) {
+            if (month.atDay(1).isBefore(to) && from.isBefore(month.plusMonths(1).atDay(1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
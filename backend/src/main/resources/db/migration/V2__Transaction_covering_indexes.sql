@@ -0,0 +1,15 @@
+-- Covering indexes for the per-user transaction aggregates.
+-- Report queries reach the user through account, then range-scan each account's
+-- transactions by date; amount and category_id are carried in the index so the
+-- sums can be answered with an index-only scan.
+CREATE INDEX idx_account_user_id ON account(user_id);
+
+CREATE INDEX idx_transaction_account_date ON transaction(account_id, transaction_date)
+    INCLUDE (amount, category_id);
+
+CREATE INDEX idx_transaction_category_date ON transaction(category_id, transaction_date)
+    INCLUDE (amount, account_id);
+
+-- Superseded by the composite indexes above (same leading column)
+DROP INDEX idx_transaction_account_id;
+DROP INDEX idx_transaction_category_id;
@@ -0,0 +1,40 @@
+-- Monthly income/expense rollup per (user, account, category, year, month).
+-- Maintained incrementally by the transaction write paths and periodically
+-- reconciled against the raw rows. Expense is kept with its original
+-- (negative) sign, matching SUM(amount) over the raw rows.
+CREATE TABLE monthly_summary (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES app_user(id) ON DELETE CASCADE,
+    account_id BIGINT NOT NULL REFERENCES account(id) ON DELETE CASCADE,
+    category_id BIGINT REFERENCES category(id) ON DELETE CASCADE,
+    year INTEGER NOT NULL,
+    month INTEGER NOT NULL CHECK (month BETWEEN 1 AND 12),
+    income NUMERIC(19,4) NOT NULL DEFAULT 0,
+    expense NUMERIC(19,4) NOT NULL DEFAULT 0,
+    income_count BIGINT NOT NULL DEFAULT 0,
+    expense_count BIGINT NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Natural key used by the upsert; uncategorised rows share category 0
+CREATE UNIQUE INDEX uq_monthly_summary_key
+    ON monthly_summary(user_id, account_id, COALESCE(category_id, 0), year, month);
+
+CREATE INDEX idx_monthly_summary_user_period ON monthly_summary(user_id, year, month);
+
+-- Backfill from existing transactions
+INSERT INTO monthly_summary (user_id, account_id, category_id, year, month,
+                             income, expense, income_count, expense_count, transaction_count)
+SELECT a.user_id, t.account_id, t.category_id,
+       EXTRACT(YEAR FROM t.transaction_date)::int,
+       EXTRACT(MONTH FROM t.transaction_date)::int,
+       COALESCE(SUM(t.amount) FILTER (WHERE t.amount > 0), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.amount < 0), 0),
+       COUNT(*) FILTER (WHERE t.amount > 0),
+       COUNT(*) FILTER (WHERE t.amount < 0),
+       COUNT(*)
+FROM transaction t
+JOIN account a ON a.id = t.account_id
+GROUP BY a.user_id, t.account_id, t.category_id,
+         EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date);
@@ -0,0 +1,10 @@
+-- Keyset pagination orders by (transaction_date, id); add id as a trailing key
+-- column so each seek is a single index range scan. Same names and INCLUDE
+-- columns as V2, so the aggregate queries keep their index-only scans.
+DROP INDEX idx_transaction_account_date;
+CREATE INDEX idx_transaction_account_date ON transaction(account_id, transaction_date, id)
+    INCLUDE (amount, category_id);
+
+DROP INDEX idx_transaction_category_date;
+CREATE INDEX idx_transaction_category_date ON transaction(category_id, transaction_date, id)
+    INCLUDE (amount, account_id);
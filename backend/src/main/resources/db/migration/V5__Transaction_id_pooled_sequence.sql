@@ -0,0 +1,4 @@
+-- Transaction ids are now allocated by Hibernate's pooled optimizer in blocks
+-- of 50 (allocationSize on the entity) so inserts can be JDBC-batched.
+-- Plain INSERTs relying on the column default still get unique ids.
+ALTER SEQUENCE transaction_id_seq INCREMENT BY 50;
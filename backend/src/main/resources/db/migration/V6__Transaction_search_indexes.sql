@@ -0,0 +1,19 @@
+-- Full-text and substring search. search_vector holds stemmed description
+-- (weight A) and notes (weight B) terms for ranked @@ matches; the trigram
+-- index on the same text serves ILIKE substrings and <% typo-tolerant word
+-- matches. Queries must repeat the indexed expression exactly.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE transaction ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(description, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(notes, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_transaction_search_vector ON transaction USING GIN (search_vector);
+
+CREATE INDEX idx_transaction_search_text_trgm ON transaction
+    USING GIN ((coalesce(description, '') || ' ' || coalesce(notes, '')) gin_trgm_ops);
+
+-- The user name search is not scoped to an owner, so it scans every user
+CREATE INDEX idx_app_user_first_name_trgm ON app_user USING GIN (first_name gin_trgm_ops);
+CREATE INDEX idx_app_user_last_name_trgm ON app_user USING GIN (last_name gin_trgm_ops);
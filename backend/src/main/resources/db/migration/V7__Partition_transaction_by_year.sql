@@ -0,0 +1,125 @@
+-- Range-partition transaction by calendar year so date-bounded queries only
+-- touch the years they ask for and old years can be detached whole.
+-- transaction_yYYYY covers [YYYY-01-01, YYYY+1-01-01); transaction_default
+-- catches dates with no partition yet until maintenance moves them out.
+-- The primary key must include the partition key; ids stay unique through
+-- transaction_id_seq.
+
+-- Years whose partition was detached by archive_transaction_partition. Their
+-- monthly_summary rows are kept and no longer reconciled against raw rows.
+CREATE TABLE transaction_partition_archive (
+    year INTEGER PRIMARY KEY,
+    table_name TEXT NOT NULL,
+    row_count BIGINT NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+ALTER TABLE transaction_unpartitioned RENAME CONSTRAINT transaction_pkey TO transaction_unpartitioned_pkey;
+DROP INDEX idx_transaction_date;
+DROP INDEX idx_transaction_account_date;
+DROP INDEX idx_transaction_category_date;
+DROP INDEX idx_transaction_search_vector;
+DROP INDEX idx_transaction_search_text_trgm;
+
+CREATE TABLE transaction (
+    id BIGINT NOT NULL DEFAULT nextval('transaction_id_seq'),
+    account_id BIGINT NOT NULL REFERENCES account(id) ON DELETE CASCADE,
+    category_id BIGINT REFERENCES category(id),
+    amount NUMERIC(19,4) NOT NULL,
+    transaction_date DATE NOT NULL,
+    currency VARCHAR(10) DEFAULT 'USD',
+    description TEXT,
+    notes TEXT,
+    receipt_path VARCHAR(512),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(description, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(notes, '')), 'B')
+    ) STORED,
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transaction_id_seq OWNED BY transaction.id;
+
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+
+-- Same definitions as V1, V4 and V6; each partition gets its own copy
+CREATE INDEX idx_transaction_date ON transaction(transaction_date);
+CREATE INDEX idx_transaction_account_date ON transaction(account_id, transaction_date, id)
+    INCLUDE (amount, category_id);
+CREATE INDEX idx_transaction_category_date ON transaction(category_id, transaction_date, id)
+    INCLUDE (amount, account_id);
+CREATE INDEX idx_transaction_search_vector ON transaction USING GIN (search_vector);
+CREATE INDEX idx_transaction_search_text_trgm ON transaction
+    USING GIN ((coalesce(description, '') || ' ' || coalesce(notes, '')) gin_trgm_ops);
+
+-- Creates the partition for p_year unless it exists or was archived, first
+-- moving that year's rows out of the default partition (ATTACH refuses while
+-- the default still holds rows in the new range). Returns whether it created one.
+CREATE FUNCTION ensure_transaction_partition(p_year INTEGER) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := format('transaction_y%s', p_year);
+    lower_bound DATE := make_date(p_year, 1, 1);
+    upper_bound DATE := make_date(p_year + 1, 1, 1);
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL
+            OR EXISTS (SELECT 1 FROM transaction_partition_archive WHERE year = p_year) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE transaction INCLUDING DEFAULTS INCLUDING GENERATED)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM transaction_default '
+        '    WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+        'INSERT INTO %I (id, account_id, category_id, amount, transaction_date, currency, '
+        '    description, notes, receipt_path, created_at, updated_at) '
+        'SELECT id, account_id, category_id, amount, transaction_date, currency, '
+        '    description, notes, receipt_path, created_at, updated_at FROM moved',
+        lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE transaction ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$;
+
+-- Detaches the partition for p_year, renames it archived_transaction_yYYYY
+-- (kept for export or dropping) and records the year. Returns the rows
+-- archived, or NULL if the year has no attached partition.
+CREATE FUNCTION archive_transaction_partition(p_year INTEGER) RETURNS BIGINT
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := format('transaction_y%s', p_year);
+    archive_name TEXT := format('archived_transaction_y%s', p_year);
+    archived BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('ALTER TABLE transaction DETACH PARTITION %I', partition_name);
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name, archive_name);
+    EXECUTE format('SELECT count(*) FROM %I', archive_name) INTO archived;
+    INSERT INTO transaction_partition_archive (year, table_name, row_count)
+    VALUES (p_year, archive_name, archived);
+    RETURN archived;
+END;
+$$;
+
+-- Partitions for every year already in use through next year, then copy the rows over
+SELECT ensure_transaction_partition(y)
+FROM generate_series(
+    LEAST(COALESCE((SELECT CAST(EXTRACT(YEAR FROM MIN(transaction_date)) AS INTEGER)
+                    FROM transaction_unpartitioned), 9999),
+          CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INTEGER)),
+    CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INTEGER) + 1) AS y;
+
+INSERT INTO transaction (id, account_id, category_id, amount, transaction_date, currency,
+                         description, notes, receipt_path, created_at, updated_at)
+SELECT id, account_id, category_id, amount, transaction_date, currency,
+       description, notes, receipt_path, created_at, updated_at
+FROM transaction_unpartitioned;
+
+DROP TABLE transaction_unpartitioned;
+
+ANALYZE transaction;
@@ -0,0 +1,57 @@
+-- Owner of the row copied from its account, so user-scoped lists, counts and
+-- sums filter transaction directly instead of joining account first. An
+-- account never changes owner, so the copy only has to be set on insert and
+-- when a row moves to another account.
+ALTER TABLE transaction ADD COLUMN user_id BIGINT;
+
+UPDATE transaction t SET user_id = a.user_id FROM account a WHERE a.id = t.account_id;
+
+ALTER TABLE transaction ALTER COLUMN user_id SET NOT NULL;
+
+-- The application sets user_id itself; this fills it for SQL-level writers
+-- (bulk loads, scripts) that only know the account
+CREATE FUNCTION transaction_set_user_id() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.user_id IS NULL OR (TG_OP = 'UPDATE' AND NEW.account_id <> OLD.account_id) THEN
+        SELECT a.user_id INTO NEW.user_id FROM account a WHERE a.id = NEW.account_id;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER transaction_user_id BEFORE INSERT OR UPDATE OF account_id ON transaction
+    FOR EACH ROW EXECUTE FUNCTION transaction_set_user_id();
+
+-- User-scoped date ranges, newest-first windows and income/expense sums;
+-- amount is included so the sums can be answered from the index alone
+CREATE INDEX idx_transaction_user_date ON transaction(user_id, transaction_date, id) INCLUDE (amount);
+
+-- Same as V7 plus user_id in the rows moved out of the default partition
+CREATE OR REPLACE FUNCTION ensure_transaction_partition(p_year INTEGER) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := format('transaction_y%s', p_year);
+    lower_bound DATE := make_date(p_year, 1, 1);
+    upper_bound DATE := make_date(p_year + 1, 1, 1);
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL
+            OR EXISTS (SELECT 1 FROM transaction_partition_archive WHERE year = p_year) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE transaction INCLUDING DEFAULTS INCLUDING GENERATED)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM transaction_default '
+        '    WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+        'INSERT INTO %I (id, account_id, user_id, category_id, amount, transaction_date, currency, '
+        '    description, notes, receipt_path, created_at, updated_at) '
+        'SELECT id, account_id, user_id, category_id, amount, transaction_date, currency, '
+        '    description, notes, receipt_path, created_at, updated_at FROM moved',
+        lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE transaction ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$;
+
+ANALYZE transaction;
@@ -0,0 +1,9 @@
+-- Time-series reports split by category or account group on those columns;
+-- carrying them in the user/date index keeps that scan index-only, as V2 does
+-- for the per-account indexes
+DROP INDEX idx_transaction_user_date;
+
+CREATE INDEX idx_transaction_user_date ON transaction(user_id, transaction_date, id)
+    INCLUDE (amount, category_id, account_id);
+
+ANALYZE transaction;
@@ -0,0 +1,88 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.loadtest.LoadTestRunner;
+import com.example.newspring_backend.service.MonthlySummaryService;
+
+/**
+ * Drives a request mix against a real Tomcat over users seeded by
+ * {@link BenchmarkDataGenerator} with skewed histories, and writes the
+ * per-endpoint report to {@code target/loadtest-<mix>.json}. Run with
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=ApiLoadBenchmarkTest -Dloadtest.mix=browse
+ * </pre>
+ * Tune with {@code -Dbenchmark.users}, {@code -Dbenchmark.rows},
+ * {@code -Dloadtest.concurrency}, {@code -Dloadtest.warmup} and
+ * {@code -Dloadtest.duration} (seconds).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ApiLoadBenchmarkTest {
+
+    private static final String PREFIX = "bench-api";
+    private static final int USERS = Integer.getInteger("benchmark.users", 50);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+    private static final String MIX = System.getProperty("loadtest.mix", "browse");
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 20);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE email LIKE ?", PREFIX + "-%@example.com");
+        long start = System.nanoTime();
+        List<BenchmarkDataGenerator.Seeded> seeded =
+            BenchmarkDataGenerator.seedUsers(jdbcTemplate, PREFIX, USERS, ROWS, 42L);
+        seeded.forEach(s -> monthlySummaryService.rebuildUser(s.userId()));
+        System.out.printf("%n[api load] seeded %d users, %d rows (largest %d) in %.1fs%n",
+            seeded.size(), seeded.stream().mapToLong(BenchmarkDataGenerator.Seeded::rows).sum(),
+            seeded.get(0).rows(), (System.nanoTime() - start) / 1e9);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE email LIKE ?", PREFIX + "-%@example.com");
+    }
+
+    @Test
+    void mixUnderLoad() throws Exception {
+        URI baseUri = URI.create("http://localhost:" + port);
+        List<LoadTestRunner.Target> targets = LoadTestRunner.discoverTargets(baseUri, PREFIX + "-", USERS);
+        assertThat(targets).hasSize(USERS);
+
+        LoadTestRunner.Report report = LoadTestRunner.run(baseUri, LoadTestRunner.Mix.parse(MIX), targets,
+            CONCURRENCY, Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS));
+        LoadTestRunner.writeJson(report, Path.of("target", "loadtest-" + MIX + ".json"));
+
+        System.out.printf("[api load] %s%n", report);
+        assertThat(report.total().requests()).isPositive();
+        assertThat(report.total().errors()).isZero();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.newspring_backend.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.NewspringBackendApplication;
+import com.example.newspring_backend.service.MonthlySummaryService;
+
+/**
+ * Seeds users with accounts, categories and transactions drawn from a
+ * fixed-seed generator, so the same seed always loads the same rows and
+ * benchmark runs stay comparable. Histories are skewed the way real ones are:
+ * transaction counts across users follow a Zipf curve, recent days are denser
+ * than old ones, one account and a few categories carry most of the rows, and
+ * expense amounts are log-normal. Dates fall in the five years ending at
+ * {@link #END_DATE}. Account balances are set from the seeded rows; the caller
+ * rebuilds {@code monthly_summary} if it needs it.
+ *
+ * <p>Load a large data set into the configured database with
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.example.newspring_backend.benchmark.BenchmarkDataGenerator \
+ *   -Dexec.args="--generator.users=1000 --generator.rows=10000000"
+ * </pre>
+ * Users are named {@code <generator.prefix>-<n>@example.com}; a rerun with the
+ * same prefix replaces them.
+ */
+public final class BenchmarkDataGenerator {
+
+    public static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+    public static final int DAYS = 5 * 365;
+
+    private static final int ACCOUNTS = 3;
+    private static final int MAX_ACCOUNTS = 4;
+    private static final int INCOME_CATEGORIES = 2;
+    private static final int EXPENSE_CATEGORIES = 6;
+    private static final double USER_SKEW = 1.0;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] PAYEES = {
+        "Grocery", "Rent", "Coffee", "Fuel", "Pharmacy", "Restaurant", "Salary", "Books", "Gym", "Utilities"
+    };
+
+    public record Seeded(Long userId, List<Long> accountIds, List<Long> categoryIds, int rows) {
+    }
+
+    private BenchmarkDataGenerator() {
+    }
+
+    public static Seeded seed(JdbcTemplate jdbcTemplate, String email, int rows, long seed) {
+        return seedUser(jdbcTemplate, email, rows, ACCOUNTS, new SplittableRandom(seed));
+    }
+
+    /**
+     * Seeds {@code users} users sharing {@code totalRows} transactions; user n
+     * (from 1) gets a share proportional to 1/n. Each user draws from its own
+     * seed-derived stream, so its rows do not depend on the other users.
+     */
+    public static List<Seeded> seedUsers(JdbcTemplate jdbcTemplate, String prefix, int users, long totalRows,
+                                         long seed) {
+        double harmonic = 0;
+        for (int n = 1; n <= users; n++) {
+            harmonic += 1 / Math.pow(n, USER_SKEW);
+        }
+        List<Seeded> seeded = new ArrayList<>(users);
+        for (int n = 1; n <= users; n++) {
+            int rows = (int) Math.max(1, Math.round(totalRows / Math.pow(n, USER_SKEW) / harmonic));
+            SplittableRandom random = new SplittableRandom(seed * 31 + n);
+            int accounts = 1 + random.nextInt(MAX_ACCOUNTS);
+            seeded.add(seedUser(jdbcTemplate, prefix + "-" + n + "@example.com", rows, accounts, random));
+        }
+        jdbcTemplate.execute("ANALYZE transaction");
+        return seeded;
+    }
+
+    // Cascades to accounts, categories, transactions and monthly_summary
+    public static void delete(JdbcTemplate jdbcTemplate, Long userId) {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    private static Seeded seedUser(JdbcTemplate jdbcTemplate, String email, int rows, int accounts,
+                                   SplittableRandom random) {
+        Long userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES (?, 'x') RETURNING id", Long.class, email);
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 1; i <= accounts; i++) {
+            accountIds.add(jdbcTemplate.queryForObject(
+                "INSERT INTO account (user_id, name) VALUES (?, ?) RETURNING id", Long.class, userId, "Bench " + i));
+        }
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 1; i <= INCOME_CATEGORIES + EXPENSE_CATEGORIES; i++) {
+            categoryIds.add(jdbcTemplate.queryForObject(
+                "INSERT INTO category (user_id, name, type) VALUES (?, ?, ?) RETURNING id", Long.class,
+                userId, "Bench " + i, i <= INCOME_CATEGORIES ? "INCOME" : "EXPENSE"));
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(rows, BATCH_SIZE));
+        for (int row = 0; row < rows; row++) {
+            boolean income = random.nextInt(10) == 0;
+            BigDecimal amount = income
+                ? BigDecimal.valueOf(100_000 + random.nextInt(50_000), 2)
+                : BigDecimal.valueOf(-expenseCents(random), 2);
+            Long categoryId = income
+                ? categoryIds.get(random.nextInt(INCOME_CATEGORIES))
+                : categoryIds.get(INCOME_CATEGORIES + skewedIndex(random, EXPENSE_CATEGORIES));
+            // u^2 puts half the rows in the most recent quarter of the range
+            double u = random.nextDouble();
+            LocalDate date = END_DATE.minusDays((long) (u * u * DAYS));
+            String description = PAYEES[random.nextInt(PAYEES.length)] + " " + row;
+            batch.add(new Object[] {
+                accountIds.get(skewedIndex(random, accounts)), categoryId, amount, Date.valueOf(date), description
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(jdbcTemplate, batch);
+        }
+        jdbcTemplate.update(
+            "UPDATE account a SET balance = COALESCE((SELECT SUM(t.amount) FROM transaction t " +
+            "WHERE t.account_id = a.id), 0) WHERE a.user_id = ?", userId);
+        return new Seeded(userId, accountIds, categoryIds, rows);
+    }
+
+    // Log-normal around 20.00, capped at 5,000.00
+    private static long expenseCents(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.min(500_000, Math.max(1, Math.round(Math.exp(Math.log(2_000) + gaussian))));
+    }
+
+    // Index 0 is picked about half the time, each further index about half as often as the previous one
+    private static int skewedIndex(SplittableRandom random, int size) {
+        int index = 0;
+        while (index < size - 1 && random.nextBoolean()) {
+            index++;
+        }
+        return index;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date, description) " +
+            "VALUES (?, ?, ?, ?, ?)", batch);
+    }
+
+    // Command-line arguments, unlike builder default properties, override application.properties
+    private static String[] withQuietLogging(String[] args) {
+        String[] all = Arrays.copyOf(new String[] {"--spring.jpa.show-sql=false", "--logging.level.root=WARN"},
+            args.length + 2);
+        System.arraycopy(args, 0, all, 2, args.length);
+        return all;
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NewspringBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(withQuietLogging(args))) {
+            Environment environment = context.getEnvironment();
+            int users = environment.getProperty("generator.users", Integer.class, 100);
+            long rows = environment.getProperty("generator.rows", Long.class, 1_000_000L);
+            long seed = environment.getProperty("generator.seed", Long.class, 42L);
+            String prefix = environment.getProperty("generator.prefix", "loadgen");
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            MonthlySummaryService monthlySummaryService = context.getBean(MonthlySummaryService.class);
+
+            int removed = jdbcTemplate.update("DELETE FROM app_user WHERE email LIKE ?", prefix + "-%@example.com");
+            long start = System.nanoTime();
+            List<Seeded> seeded = seedUsers(jdbcTemplate, prefix, users, rows, seed);
+            seeded.forEach(s -> monthlySummaryService.rebuildUser(s.userId()));
+            jdbcTemplate.execute("VACUUM ANALYZE transaction");
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long inserted = seeded.stream().mapToLong(Seeded::rows).sum();
+            System.out.printf("Replaced %d users; seeded %d users, %d transactions in %.0fs (%.0f rows/s); "
+                + "largest history %d rows, smallest %d%n",
+                removed, seeded.size(), inserted, seconds, inserted / seconds,
+                seeded.get(0).rows(), seeded.get(seeded.size() - 1).rows());
+        }
+    }
+}
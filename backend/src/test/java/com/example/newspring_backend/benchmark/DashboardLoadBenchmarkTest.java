@@ -0,0 +1,95 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.loadtest.LoadTestRunner;
+import com.example.newspring_backend.service.MonthlySummaryService;
+
+/**
+ * Throughput and p99 of {@code /api/reports/dashboard} on a real Tomcat. Run
+ * once per mode and compare the printed lines:
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=DashboardLoadBenchmarkTest
+ * mvn test -Pjava21 -Dbenchmark=true -Dtest=DashboardLoadBenchmarkTest -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * Tune with {@code -Dloadtest.concurrency}, {@code -Dloadtest.warmup} and
+ * {@code -Dloadtest.duration} (seconds).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DashboardLoadBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 20);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private Environment environment;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('bench-load@example.com', 'x') RETURNING id",
+            Long.class);
+        Long accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Bench') RETURNING id", Long.class, userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description) " +
+            "SELECT ?, CASE WHEN g % 10 = 0 THEN 1000 ELSE -(1 + g % 200) END, CURRENT_DATE - (g % 1825), 'Bench' " +
+            "FROM generate_series(1, ?) g",
+            accountId, ROWS);
+        monthlySummaryService.rebuildUser(userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+            // Reclaim the deleted rows and their index entries so later tests plan against a clean table
+            jdbcTemplate.execute("VACUUM ANALYZE transaction");
+        }
+    }
+
+    @Test
+    void dashboardUnderLoad() throws Exception {
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        URI uri = URI.create("http://localhost:" + port + "/api/reports/dashboard?userId=" + userId);
+
+        LoadTestRunner.Result result = LoadTestRunner.run(virtual ? "virtual-threads" : "platform-threads",
+            uri, CONCURRENCY, Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS));
+
+        System.out.printf("%n[dashboard load] java=%s hikari.max=%s%n  %s%n",
+            Runtime.version().feature(),
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"), result);
+        assertThat(result.requests()).isPositive();
+        assertThat(result.errors()).isZero();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.DashboardReport;
+import com.example.newspring_backend.repository.AccountRepository;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+import com.example.newspring_backend.service.DashboardReportService;
+import com.example.newspring_backend.service.MonthlySummaryService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares the legacy five-query dashboard totals against the single-scan
+ * aggregate over the monthly rollup, and the full dashboard (totals, balance,
+ * recent transactions) run one after another against the concurrent
+ * composition, on a seeded 1M-row history. Run with {@code mvn test
+ * -Dbenchmark=true -Dtest=DashboardReportBenchmarkTest}.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DashboardReportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private DashboardReportService dashboardReportService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('bench-dashboard@example.com', 'x') RETURNING id",
+            Long.class);
+        jdbcTemplate.update(
+            "INSERT INTO account (user_id, name) SELECT ?, 'Bench ' || g FROM generate_series(1, 3) g", userId);
+        jdbcTemplate.update(
+            "INSERT INTO category (user_id, name, type) SELECT ?, 'Bench ' || g, " +
+            "CASE WHEN g <= 2 THEN 'INCOME' ELSE 'EXPENSE' END FROM generate_series(1, 6) g", userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date, description) " +
+            "SELECT a.ids[1 + g % 3], c.ids[1 + g % 6], " +
+            "CASE WHEN g % 10 = 0 THEN 1000 + g % 500 ELSE -(1 + g % 200) END, " +
+            "CURRENT_DATE - (g % 1825), 'Bench ' || g " +
+            "FROM generate_series(1, ?) g, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM account WHERE user_id = ?) a, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM category WHERE user_id = ?) c",
+            ROWS, userId, userId);
+        monthlySummaryService.rebuildUser(userId);
+        jdbcTemplate.execute("ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void dashboardQueryShapes() {
+        LocalDate today = LocalDate.now();
+        int month = today.getMonthValue();
+        int year = today.getYear();
+
+        Result legacy = measure(() -> {
+            transactionRepository.getTotalIncomeByMonth(userId, month, year);
+            transactionRepository.getTotalExpenseByMonth(userId, month, year);
+            transactionRepository.getTotalIncomeByYear(userId, year);
+            transactionRepository.getTotalExpenseByYear(userId, year);
+            return transactionRepository.countByUserId(userId);
+        });
+        Result singleScan = measure(() -> monthlySummaryRepository.getDashboardTotals(userId, year, month));
+        Result sequential = measure(() -> {
+            monthlySummaryRepository.getDashboardTotals(userId, year, month);
+            accountRepository.getTotalBalanceByUserId(userId);
+            return transactionRepository.findLatestResponses(userId, PageRequest.ofSize(5));
+        });
+        Result composed = measure(() -> dashboardReportService.getDashboard(userId, today));
+
+        DashboardReport report = dashboardReportService.getDashboard(userId, today);
+        assertThat(report.unavailable()).isEmpty();
+        assertThat(report.totalTransactions()).isEqualTo(ROWS);
+        assertThat(report.recentTransactions()).hasSize(5);
+        assertThat(singleScan.queriesPerCall()).isEqualTo(1);
+        assertThat(composed.queriesPerCall()).isEqualTo(3);
+
+        System.out.printf("%n[dashboard benchmark] rows=%d iterations=%d%n", ROWS, ITERATIONS);
+        print("legacy totals", legacy);
+        print("single-scan totals", singleScan);
+        print("dashboard sequential", sequential);
+        print("dashboard composed", composed);
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("  %-22s queries/call=%d median=%.1fms p95=%.1fms%n",
+            label, result.queriesPerCall(), result.medianMillis(), result.p95Millis());
+    }
+
+    private Result measure(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        statistics.clear();
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long queries = statistics.getPrepareStatementCount() / ITERATIONS;
+        Arrays.sort(nanos);
+        return new Result(queries, nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+
+    private record Result(long queriesPerCall, double medianMillis, double p95Millis) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.service.MonthlySummaryService;
+import com.example.newspring_backend.service.TimeseriesReportService;
+import com.example.newspring_backend.service.TimeseriesReportService.Bucket;
+import com.example.newspring_backend.service.TimeseriesReportService.GroupBy;
+
+/**
+ * Time to produce a full five-year series for the user with the largest history
+ * in a skewed data set, per bucket size and grouping, including JSON writing.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=TimeseriesReportBenchmarkTest};
+ * {@code -Dbenchmark.rows} and {@code -Dbenchmark.users} size the data set.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TimeseriesReportBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 5_000_000L);
+    private static final int USERS = Integer.getInteger("benchmark.users", 500);
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private static final LocalDate TO = BenchmarkDataGenerator.END_DATE;
+    private static final LocalDate FROM = TO.minusYears(5).plusDays(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeseriesReportService timeseriesReportService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    private List<BenchmarkDataGenerator.Seeded> seeded;
+
+    @BeforeAll
+    void seed() {
+        seeded = BenchmarkDataGenerator.seedUsers(jdbcTemplate, "bench-series", USERS, ROWS, 42);
+        monthlySummaryService.rebuildUser(seeded.get(0).userId());
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (seeded != null) {
+            seeded.forEach(s -> BenchmarkDataGenerator.delete(jdbcTemplate, s.userId()));
+        }
+    }
+
+    @Test
+    void fiveYearSeries() {
+        Long userId = seeded.get(0).userId();
+        System.out.printf("%n[timeseries benchmark] rows=%d users=%d user rows=%d range=%s..%s%n",
+            ROWS, USERS, seeded.get(0).rows(), FROM, TO);
+        for (Bucket bucket : Bucket.values()) {
+            for (GroupBy groupBy : GroupBy.values()) {
+                report(userId, bucket, groupBy);
+            }
+        }
+    }
+
+    private void report(Long userId, Bucket bucket, GroupBy groupBy) {
+        int size = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            size = write(userId, bucket, groupBy);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            write(userId, bucket, groupBy);
+            nanos[i] = System.nanoTime() - start;
+        }
+        assertThat(size).isPositive();
+        Arrays.sort(nanos);
+        System.out.printf("  %-5s by %-8s %8d bytes  median=%8.2fms p95=%8.2fms%n", bucket, groupBy, size,
+            nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+
+    private int write(Long userId, Bucket bucket, GroupBy groupBy) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            timeseriesReportService.write(out, userId, FROM, TO, bucket, groupBy);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
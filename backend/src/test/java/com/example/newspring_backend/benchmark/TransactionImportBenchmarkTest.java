@@ -0,0 +1,95 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.ImportResult;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.service.TransactionImportService;
+import com.example.newspring_backend.service.TransactionService;
+
+/**
+ * Rows/second of the bulk import against one {@code TransactionService.create}
+ * call per row. Run with {@code mvn test -Dbenchmark=true
+ * -Dtest=TransactionImportBenchmarkTest}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionImportBenchmarkTest {
+
+    private static final int IMPORT_ROWS = Integer.getInteger("benchmark.rows", 50_000);
+    private static final int SINGLE_ROWS = 2_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('bench-import@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Bench') RETURNING id", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Bench', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void bulkImportVersusRowByRow() throws Exception {
+        StringBuilder csv = new StringBuilder("accountId,categoryId,amount,transactionDate,description\n");
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append(accountId).append(',').append(categoryId).append(',')
+               .append(-(1 + i % 200)).append(".25,").append(start.plusDays(i % 1826))
+               .append(",Statement line ").append(i).append('\n');
+        }
+
+        ImportResult result = importService.importCsv(
+            userId, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.imported()).isEqualTo(IMPORT_ROWS);
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            Transaction transaction = new Transaction(null, null, new BigDecimal("-3.50"), start.plusDays(i), "Single " + i);
+            transactionService.create(transaction, accountId, categoryId);
+        }
+        double singleRate = SINGLE_ROWS * 1_000_000_000d / (System.nanoTime() - singleStart);
+
+        System.out.printf("%n[import benchmark]%n");
+        System.out.printf("  bulk import   rows=%d elapsed=%dms rows/s=%.0f%n",
+            IMPORT_ROWS, result.elapsedMillis(), result.rowsPerSecond());
+        System.out.printf("  row-by-row    rows=%d rows/s=%.0f%n", SINGLE_ROWS, singleRate);
+    }
+}
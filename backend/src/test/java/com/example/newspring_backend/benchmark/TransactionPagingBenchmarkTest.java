@@ -0,0 +1,131 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Latency of page 1 and page 10,000 (size 10) under offset paging versus
+ * keyset paging. Run with {@code mvn test -Dbenchmark=true
+ * -Dtest=TransactionPagingBenchmarkTest}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionPagingBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final Sort NEWEST_FIRST = Sort.by("transactionDate").descending().and(Sort.by("id").descending());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Long userId;
+    private Long accountId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('bench-paging@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Bench') RETURNING id", Long.class, userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description) " +
+            "SELECT ?, -(1 + g % 200), CURRENT_DATE - (g % 3650), 'Bench ' || g FROM generate_series(1, ?) g",
+            accountId, ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void offsetVersusKeyset() {
+        TransactionCursor deepCursor = cursorBefore(DEEP_PAGE);
+
+        List<Long> offsetIds = transactionRepository
+            .findResponsesByAccountId(accountId, PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, NEWEST_FIRST))
+            .map(TransactionResponse::id).getContent();
+        List<Long> keysetIds = transactionRepository
+            .findByAccountAfter(accountId, deepCursor.transactionDate(), deepCursor.id(), PageRequest.ofSize(PAGE_SIZE))
+            .map(TransactionResponse::id).getContent();
+        assertThat(keysetIds).isEqualTo(offsetIds);
+
+        System.out.printf("%n[paging benchmark] rows=%d size=%d%n", ROWS, PAGE_SIZE);
+        report("account offset page 1", () -> transactionRepository
+            .findResponsesByAccountId(accountId, PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST)));
+        report("account offset page " + DEEP_PAGE, () -> transactionRepository
+            .findResponsesByAccountId(accountId, PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, NEWEST_FIRST)));
+        report("account keyset page 1", () -> keyset(TransactionCursor.START));
+        report("account keyset page " + DEEP_PAGE, () -> keyset(deepCursor));
+
+        report("user offset page 1", () -> transactionRepository
+            .findResponsesByUserId(userId, PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST)));
+        report("user offset page " + DEEP_PAGE, () -> transactionRepository
+            .findResponsesByUserId(userId, PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE, NEWEST_FIRST)));
+        report("user keyset page 1", () -> transactionRepository.findByUserAfter(
+            userId, TransactionCursor.START.transactionDate(), TransactionCursor.START.id(), PageRequest.ofSize(PAGE_SIZE)));
+        report("user keyset page " + DEEP_PAGE, () -> transactionRepository.findByUserAfter(
+            userId, deepCursor.transactionDate(), deepCursor.id(), PageRequest.ofSize(PAGE_SIZE)));
+    }
+
+    private Slice<TransactionResponse> keyset(TransactionCursor cursor) {
+        return transactionRepository.findByAccountAfter(
+            accountId, cursor.transactionDate(), cursor.id(), PageRequest.ofSize(PAGE_SIZE));
+    }
+
+    // The cursor a client would hold after reading pages 1 .. page-1
+    private TransactionCursor cursorBefore(int page) {
+        return jdbcTemplate.queryForObject(
+            "SELECT transaction_date, id FROM transaction WHERE account_id = ? " +
+            "ORDER BY transaction_date DESC, id DESC OFFSET ? LIMIT 1",
+            (rs, i) -> new TransactionCursor(rs.getObject(1, LocalDate.class), rs.getLong(2)),
+            accountId, (page - 1) * PAGE_SIZE - 1);
+    }
+
+    private void report(String label, Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-28s median=%8.2fms p95=%8.2fms%n",
+            label, nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.newspring_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.CursorPage;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.service.TransactionSearchService;
+
+/**
+ * Latency of the ranked, index-backed search against the old
+ * {@code LOWER(description) LIKE} page-plus-count query, for the user with the
+ * largest history in a skewed 10M-row data set: a rare term, a common term, a
+ * misspelling and a deep keyset window. Run with {@code mvn test
+ * -Dbenchmark=true -Dtest=TransactionSearchBenchmarkTest}; pass
+ * {@code -Dbenchmark.rows=1000000} for a quicker run.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionSearchBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final int USERS = Integer.getInteger("benchmark.users", 1_000);
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_WINDOW = 50;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private static final String LEGACY_PAGE_SQL =
+        "SELECT t.id FROM transaction t JOIN account a ON a.id = t.account_id " +
+        "WHERE a.user_id = ? AND LOWER(t.description) LIKE LOWER(?) " +
+        "ORDER BY t.transaction_date DESC LIMIT " + PAGE_SIZE;
+    private static final String LEGACY_COUNT_SQL =
+        "SELECT count(*) FROM transaction t JOIN account a ON a.id = t.account_id " +
+        "WHERE a.user_id = ? AND LOWER(t.description) LIKE LOWER(?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    private List<BenchmarkDataGenerator.Seeded> seeded;
+
+    @BeforeAll
+    void seed() {
+        seeded = BenchmarkDataGenerator.seedUsers(jdbcTemplate, "bench-search", USERS, ROWS, 42);
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (seeded != null) {
+            seeded.forEach(s -> BenchmarkDataGenerator.delete(jdbcTemplate, s.userId()));
+        }
+    }
+
+    @Test
+    void rankedSearchVersusLike() {
+        BenchmarkDataGenerator.Seeded largest = seeded.get(0);
+        Long userId = largest.userId();
+        // Descriptions are "<payee> <row>", so a row number is a rare term and a payee a common one
+        String rare = String.valueOf(largest.rows() / 2);
+
+        assertThat(transactionSearchService.search(userId, "coffee", null, PAGE_SIZE).content())
+            .isNotEmpty()
+            .allSatisfy(t -> assertThat(t.description()).containsIgnoringCase("coffee"));
+        assertThat(transactionSearchService.search(userId, "cofee", null, PAGE_SIZE).content())
+            .allSatisfy(t -> assertThat(t.description()).containsIgnoringCase("coffee"));
+
+        String deepCursor = null;
+        for (int i = 1; i < DEEP_WINDOW; i++) {
+            deepCursor = transactionSearchService.search(userId, "coffee", deepCursor, PAGE_SIZE).nextCursor();
+        }
+        String cursor = deepCursor;
+
+        System.out.printf("%n[search benchmark] rows=%d users=%d searched user rows=%d page=%d%n",
+            ROWS, USERS, largest.rows(), PAGE_SIZE);
+        report("like rare term", () -> legacy(userId, rare));
+        report("ranked rare term", () -> transactionSearchService.search(userId, rare, null, PAGE_SIZE));
+        report("like common term", () -> legacy(userId, "coffee"));
+        report("ranked common term", () -> transactionSearchService.search(userId, "coffee", null, PAGE_SIZE));
+        report("ranked misspelled term", () -> transactionSearchService.search(userId, "cofee", null, PAGE_SIZE));
+        report("ranked common window " + DEEP_WINDOW,
+            () -> transactionSearchService.search(userId, "coffee", cursor, PAGE_SIZE));
+    }
+
+    // What the old endpoint ran per page: the LIKE page plus its count query
+    private long legacy(Long userId, String text) {
+        List<Long> ids = jdbcTemplate.queryForList(LEGACY_PAGE_SQL, Long.class, userId, "%" + text + "%");
+        return ids.size() + jdbcTemplate.queryForObject(LEGACY_COUNT_SQL, Long.class, userId, "%" + text + "%");
+    }
+
+    private void report(String label, Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-28s median=%8.2fms p95=%8.2fms%n",
+            label, nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.newspring_backend.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * User-scoped queries filtered through the account join, as before V8, against
+ * the same queries on the denormalized {@code transaction.user_id}, for the
+ * user with the largest history in a skewed data set. Prints each plan once and
+ * then the latencies. Run with {@code mvn test -Dbenchmark=true
+ * -Dtest=UserScopedQueryBenchmarkTest}; {@code -Dbenchmark.rows} and
+ * {@code -Dbenchmark.users} size the data set.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserScopedQueryBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 5_000_000L);
+    private static final int USERS = Integer.getInteger("benchmark.users", 500);
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private static final String JOIN = "FROM transaction t JOIN account a ON a.id = t.account_id WHERE a.user_id = ? ";
+    private static final String DIRECT = "FROM transaction t WHERE t.user_id = ? ";
+
+    private static final String COUNT = "SELECT count(*) ";
+    private static final String MONTH_INCOME = "SELECT sum(t.amount) %s" +
+        "AND t.amount > 0 AND t.transaction_date >= ? AND t.transaction_date < ?";
+    private static final String NEWEST_PAGE = "SELECT t.id, t.amount, t.transaction_date %s" +
+        "ORDER BY t.transaction_date DESC, t.id DESC LIMIT 20";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<BenchmarkDataGenerator.Seeded> seeded;
+
+    @BeforeAll
+    void seed() {
+        seeded = BenchmarkDataGenerator.seedUsers(jdbcTemplate, "bench-owner", USERS, ROWS, 42);
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (seeded != null) {
+            seeded.forEach(s -> BenchmarkDataGenerator.delete(jdbcTemplate, s.userId()));
+        }
+    }
+
+    @Test
+    void accountJoinVersusUserIdColumn() {
+        Long userId = seeded.get(0).userId();
+        LocalDate month = BenchmarkDataGenerator.END_DATE.withDayOfMonth(1);
+        Object[] monthArgs = {userId, Date.valueOf(month), Date.valueOf(month.plusMonths(1))};
+
+        System.out.printf("%n[user_id benchmark] rows=%d users=%d user rows=%d%n",
+            ROWS, USERS, seeded.get(0).rows());
+        compare("count", COUNT + JOIN, COUNT + DIRECT, userId);
+        compare("month income", MONTH_INCOME.formatted(JOIN), MONTH_INCOME.formatted(DIRECT), monthArgs);
+        compare("newest page", NEWEST_PAGE.formatted(JOIN), NEWEST_PAGE.formatted(DIRECT), userId);
+    }
+
+    private void compare(String label, String joinSql, String directSql, Object... args) {
+        System.out.println("  plan via account join:\n" + plan(joinSql, args));
+        System.out.println("  plan via user_id:\n" + plan(directSql, args));
+        report(label + " (join)", () -> jdbcTemplate.queryForList(joinSql, args));
+        report(label + " (user_id)", () -> jdbcTemplate.queryForList(directSql, args));
+    }
+
+    private String plan(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) " + sql, String.class, args))
+            .indent(4);
+    }
+
+    private void report(String label, Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-26s median=%8.2fms p95=%8.2fms%n",
+            label, nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+}
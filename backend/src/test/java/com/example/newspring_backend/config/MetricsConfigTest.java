@@ -0,0 +1,76 @@
+package com.example.newspring_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * The Prometheus endpoint carries the hot-path timers with their SLO buckets,
+ * the pool and Hibernate meters, and a per-request statement count that
+ * includes the statements the dashboard runs on report threads.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('metrics-test@example.com', 'x') RETURNING id",
+            Long.class);
+        jdbcTemplate.update("INSERT INTO account (user_id, name) VALUES (?, 'Metrics')", userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void prometheusExposesHotPathMeters() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}", userId).param("size", "50"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/dashboard").param("userId", userId.toString()))
+            .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+            .contains("http_server_requests_seconds_bucket{")
+            .containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*"
+                + "method=\"findResponsesByUserId\",repository=\"TransactionRepository\"[^}]*le=\"0\\.025\"}")
+            .contains("hikaricp_connections_utilization{")
+            .contains("hikaricp_connections_pending{")
+            .contains("hibernate_entities_loads_total{")
+            .contains("cache_hit_ratio{cache=\"accountsByUser\"")
+            .contains("sql_time_per_request_seconds_bucket{")
+            .contains("sql_statements_per_request_bucket{method=\"GET\",uri=\"/api/transactions/user/{userId}\",le=\"1.0\"} 1")
+            // totals, total balance and recent transactions, each run on a report thread
+            .containsPattern("sql_statements_per_request_sum\\{method=\"GET\",uri=\"/api/reports/dashboard\"} 3\\.0");
+    }
+}
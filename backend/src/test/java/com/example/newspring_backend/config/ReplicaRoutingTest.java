@@ -0,0 +1,115 @@
+package com.example.newspring_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing with one replica. By default the "replica" is the test database
+ * itself, reached through its own pool; which pool served a statement shows in
+ * {@code application_name}. To run against a real pair, start a streaming
+ * replica of the test database and pass {@code -Dreplica.url=jdbc:postgresql://...}.
+ * Lag is not re-measured during the run so the tests control it.
+ */
+@SpringBootTest(properties = {
+    "datasource.replica.urls=${replica.url:${spring.datasource.url}}",
+    "datasource.replica.lag-check-interval=1h"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRouter router;
+
+    @Autowired
+    private ReplicaStickinessFilter stickinessFilter;
+
+    @AfterEach
+    void catchUp() {
+        router.recordLag("replica-1", Duration.ZERO);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(servedBy(true)).isEqualTo("replica-1");
+        assertThat(servedBy(false)).isEqualTo("primary");
+        assertThat(applicationName()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        router.recordLag("replica-1", Duration.ofSeconds(10));
+
+        assertThat(servedBy(true)).isEqualTo("primary");
+
+        router.recordLag("replica-1", Duration.ofMillis(500));
+
+        assertThat(servedBy(true)).isEqualTo("replica-1");
+    }
+
+    @Test
+    void disconnectedReplicaFallsBackToPrimary() {
+        router.recordUnavailable("replica-1", "WAL receiver is not streaming");
+
+        assertThat(router.lag("replica-1")).isNull();
+        assertThat(servedBy(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() throws Exception {
+        MockHttpServletResponse created = new MockHttpServletResponse();
+        stickinessFilter.doFilter(new MockHttpServletRequest("POST", "/api/accounts/user/9001"), created,
+            (request, response) -> ((MockHttpServletResponse) response).setStatus(201));
+
+        assertThat(router.isSticky(9001L)).isTrue();
+        assertThat(readDuring(dashboardRequest(9001L))).isEqualTo("primary");
+        assertThat(readDuring(dashboardRequest(9002L))).isEqualTo("replica-1");
+    }
+
+    @Test
+    void failedWriteDoesNotPinUser() throws Exception {
+        stickinessFilter.doFilter(new MockHttpServletRequest("PUT", "/api/users/9003"), new MockHttpServletResponse(),
+            (request, response) -> ((MockHttpServletResponse) response).setStatus(400));
+
+        assertThat(router.isSticky(9003L)).isFalse();
+    }
+
+    private MockHttpServletRequest dashboardRequest(long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/dashboard");
+        request.setParameter("userId", String.valueOf(userId));
+        return request;
+    }
+
+    // Pool a read-only transaction uses while the filter handles the request
+    private String readDuring(MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> pool = new AtomicReference<>();
+        stickinessFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> pool.set(servedBy(true)));
+        return pool.get();
+    }
+
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> applicationName());
+    }
+
+    private String applicationName() {
+        return jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.newspring_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Requests over the SQL budget fail in test mode, SQL run on report threads
+ * counts toward the request, and lazy loads of {@code Transaction.category}
+ * show up as one statement repeated once per row.
+ */
+@SpringBootTest(properties = {"sql.budget.max-statements=2", "sql.budget.max-repeats=3"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('sql-budget-test@example.com', 'x') RETURNING id",
+            Long.class);
+        Long accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Budget') RETURNING id", Long.class, userId);
+        jdbcTemplate.update(
+            "INSERT INTO category (user_id, name, type) SELECT ?, 'Budget ' || g, 'EXPENSE' " +
+            "FROM generate_series(1, 6) g", userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date) " +
+            "SELECT ?, c.id, -10, DATE '2024-01-01' FROM category c WHERE c.user_id = ?", accountId, userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void requestWithinBudgetPasses() throws Exception {
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            mockMvc.perform(get("/api/transactions/user/{userId}", userId).param("size", "100"))
+                .andExpect(status().isOk());
+
+            assertThat(sql.statements()).isEqualTo(1);
+            assertThat(sql.repeatedMoreThan(1)).isEmpty();
+        }
+    }
+
+    @Test
+    void requestOverBudgetFailsInTestMode() {
+        // Totals, balance and recent transactions run on report threads but count toward this request
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/reports/dashboard").param("userId", userId.toString())))
+            .isInstanceOf(SqlBudgetExceededException.class)
+            .hasMessageContaining("GET /api/reports/dashboard")
+            .hasMessageContaining("statements 3 > 2");
+    }
+
+    @Test
+    void lazyAssociationLoadsAreFlaggedAsRepeats() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            transaction.executeWithoutResult(status -> transactionRepository
+                .findByUserId(userId, PageRequest.of(0, 10))
+                .forEach(t -> t.getCategory().getName()));
+
+            Map<String, Integer> repeated = sql.repeatedMoreThan(3);
+            assertThat(repeated).hasSize(1);
+            assertThat(repeated.keySet().iterator().next()).containsIgnoringCase("from category");
+            assertThat(repeated.values()).containsExactly(6);
+        }
+    }
+}
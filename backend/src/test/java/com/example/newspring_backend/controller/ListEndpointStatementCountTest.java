@@ -0,0 +1,124 @@
+package com.example.newspring_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.newspring_backend.config.SqlStatementScope;
+
+/**
+ * Every list endpoint must be answered by a single projection SELECT, however
+ * many rows and associations are involved. Paged listings are requested with a
+ * page larger than the data so Spring Data skips the count query.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListEndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('statements-test@example.com', 'x') RETURNING id",
+            Long.class);
+        jdbcTemplate.update(
+            "INSERT INTO account (user_id, name) SELECT ?, 'Statements ' || g FROM generate_series(1, 3) g", userId);
+        jdbcTemplate.update(
+            "INSERT INTO category (user_id, name, type) SELECT ?, 'Statements ' || g, " +
+            "CASE WHEN g = 1 THEN 'INCOME' ELSE 'EXPENSE' END FROM generate_series(1, 4) g", userId);
+        accountId = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM account WHERE user_id = ?", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM category WHERE user_id = ?", Long.class, userId);
+        // 30 rows spread over every account and category, some uncategorised
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date, description) " +
+            "SELECT a.ids[1 + g % 3], CASE WHEN g % 5 = 0 THEN NULL ELSE c.ids[1 + g % 4] END, " +
+            "-(g + 0.5), DATE '2024-01-01' + g, 'Statements ' || g " +
+            "FROM generate_series(1, 30) g, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM account WHERE user_id = ?) a, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM category WHERE user_id = ?) c",
+            userId, userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/transactions/user/{userId}?size=100",
+        "/api/transactions?userId={userId}&size=100",
+        "/api/transactions/user/{userId}/recent?size=100",
+        "/api/transactions/user/{userId}/scroll?size=100",
+        "/api/transactions/account/{accountId}?size=100",
+        "/api/transactions/category/{categoryId}?size=100",
+        "/api/transactions/search?userId={userId}&description=statements&size=100",
+        "/api/accounts/user/{userId}",
+        "/api/categories/user/{userId}",
+        "/api/categories/user/{userId}/expense",
+        "/api/users/search?name=statements"
+    })
+    void listEndpointIssuesOneStatement(String template) throws Exception {
+        String uri = template
+            .replace("{userId}", userId.toString())
+            .replace("{accountId}", accountId.toString())
+            .replace("{categoryId}", categoryId.toString());
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+            assertThat(sql.statements()).as(uri).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void sortingIsLimitedToIndexedKeys() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}?sortBy=description", userId))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions?userId={userId}&sortBy=amount", userId))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions/user/{userId}?sortBy=transactionDate&sortDir=asc&size=2", userId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].transactionDate").value("2024-01-02"));
+    }
+
+    @Test
+    void transactionListingCarriesFlatAccountAndCategoryFields() throws Exception {
+        mockMvc.perform(get("/api/transactions/user/{userId}/scroll?size=1", userId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].accountId").isNumber())
+            .andExpect(jsonPath("$.content[0].accountName").isString())
+            .andExpect(jsonPath("$.content[0].account").doesNotExist());
+
+        mockMvc.perform(get("/api/users/{id}", userId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("statements-test@example.com"))
+            .andExpect(jsonPath("$.passwordHash").doesNotExist());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.newspring_backend.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Money converts exactly to and from the {@code NUMERIC(19,4)} columns and
+ * rounds finer amounts the way they do.
+ */
+@SpringBootTest
+class MoneyColumnTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void roundTripsThroughTheColumnExactly() {
+        for (String value : new String[] {"0", "0.0001", "-19.75", "123456789.1234", Money.MAX.toPlainString()}) {
+            Money money = Money.of(new BigDecimal(value));
+            BigDecimal stored = column(money.toBigDecimal());
+
+            assertThat(stored).isEqualTo(money.toBigDecimal());
+            assertThat(Money.of(stored)).isEqualTo(money);
+        }
+    }
+
+    @Test
+    void roundsFinerAmountsLikeTheColumn() {
+        for (String value : new String[] {"1.23456", "-1.23455", "0.00004", "-0.00005"}) {
+            assertThat(Money.of(new BigDecimal(value)).toBigDecimal()).isEqualTo(column(new BigDecimal(value)));
+        }
+    }
+
+    private BigDecimal column(BigDecimal value) {
+        return jdbcTemplate.queryForObject("SELECT CAST(? AS NUMERIC(19,4))", BigDecimal.class, value);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.newspring_backend.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Money arithmetic is exact, refuses to overflow or mix currencies, rounds
+ * finer amounts half up, and serializes like the BigDecimal it replaced.
+ */
+class MoneyTest {
+
+    @Test
+    void arithmeticIsExact() {
+        Money a = Money.of(new BigDecimal("0.1"));
+        Money b = Money.of(new BigDecimal("0.2"));
+
+        assertThat(a.plus(b).toBigDecimal()).isEqualTo(new BigDecimal("0.3000"));
+        assertThat(a.minus(b).abs()).isEqualTo(a);
+        assertThat(b.negate().signum()).isNegative();
+        assertThat(PeriodSummary.of(new BigDecimal("100.00"), new BigDecimal("-30.5")).net().toBigDecimal())
+            .isEqualTo(new BigDecimal("69.5000"));
+    }
+
+    @Test
+    void refusesOverflowAndMixedCurrencies() {
+        Money max = new Money(Long.MAX_VALUE, "USD");
+
+        assertThatThrownBy(() -> max.plus(new Money(1, "USD"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(Long.MIN_VALUE, "USD").negate()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(Money.MAX.add(new BigDecimal("0.0001"))))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> new Money(1, "USD").plus(new Money(1, "EUR")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundsFinerAmountsHalfUp() {
+        assertThat(Money.toUnits(new BigDecimal("1.23455"))).isEqualTo(12346L);
+        assertThat(Money.toUnits(new BigDecimal("-1.23455"))).isEqualTo(-12346L);
+        assertThat(Money.toUnits(new BigDecimal("0.00004"))).isZero();
+    }
+
+    @Test
+    void serializesAsTheDecimalAmount() throws Exception {
+        assertThat(new ObjectMapper().writeValueAsString(Money.of(new BigDecimal("-19.75")))).isEqualTo("-19.7500");
+    }
+}
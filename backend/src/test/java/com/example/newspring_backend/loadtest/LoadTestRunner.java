@@ -0,0 +1,401 @@
+package com.example.newspring_backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.newspring_backend.benchmark.BenchmarkDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} clients each send the
+ * next request as soon as the previous one completes. A {@link Mix} picks each
+ * request from weighted {@link Endpoint}s and fills its path from a random
+ * {@link Target} user. Reports throughput and latency percentiles over the
+ * measured window (warm-up excluded), overall and per endpoint.
+ *
+ * <p>Run against a live server loaded by {@link BenchmarkDataGenerator} with
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.example.newspring_backend.loadtest.LoadTestRunner \
+ *   -Dexec.args="--url=http://localhost:8080 --mix=browse --concurrency=50 --duration=60 --report=target/load.json"
+ * </pre>
+ * {@code --mix} is a preset name ({@link #PRESETS}) or a spec such as
+ * {@code transactions-page=5,reports-dashboard=2,accounts-user=1}; endpoint names
+ * are the keys of {@link #ENDPOINTS}. Target users are discovered through
+ * {@code /api/users}, limited to emails starting with {@code --prefix}.
+ */
+public final class LoadTestRunner {
+
+    public record Result(String label, int concurrency, long requests, long errors, double seconds,
+                         double throughput, double p50Millis, double p90Millis, double p99Millis,
+                         double p999Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-22s concurrency=%d requests=%d errors=%d throughput=%.0f req/s "
+                + "p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms",
+                label, concurrency, requests, errors, throughput, p50Millis, p90Millis, p99Millis,
+                p999Millis, maxMillis);
+        }
+    }
+
+    public record Report(String mix, Result total, List<Result> endpoints) {
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("mix=" + mix + "\n  " + total);
+            endpoints.forEach(result -> text.append("\n    ").append(result));
+            return text.toString();
+        }
+    }
+
+    /**
+     * A request shape. {@code path} and {@code body} may use {@code {userId}},
+     * {@code {accountId}}, {@code {categoryId}}, {@code {year}}, {@code {month}},
+     * {@code {from}}, {@code {to}} and {@code {date}}.
+     */
+    public record Endpoint(String method, String path, String body) {
+
+        static Endpoint get(String path) {
+            return new Endpoint("GET", path, null);
+        }
+    }
+
+    /** A user the clients may act as, with the ids the path templates need. */
+    public record Target(Long userId, List<Long> accountIds, List<Long> categoryIds) {
+    }
+
+    /** Endpoint names with relative weights. */
+    public record Mix(String name, Map<String, Integer> weights) {
+
+        public static Mix parse(String spec) {
+            if (PRESETS.containsKey(spec)) {
+                return new Mix(spec, PRESETS.get(spec));
+            }
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String part : spec.split(",")) {
+                String[] entry = part.trim().split("=");
+                if (entry.length != 2 || !ENDPOINTS.containsKey(entry[0])) {
+                    throw new IllegalArgumentException("Unknown mix entry '" + part + "', endpoints are "
+                        + ENDPOINTS.keySet() + ", presets are " + PRESETS.keySet());
+                }
+                weights.put(entry[0], Integer.parseInt(entry[1]));
+            }
+            return new Mix(spec, weights);
+        }
+    }
+
+    public static final Map<String, Endpoint> ENDPOINTS = new LinkedHashMap<>();
+    public static final Map<String, Map<String, Integer>> PRESETS = new LinkedHashMap<>();
+
+    static {
+        ENDPOINTS.put("transactions-page", Endpoint.get("/api/transactions/user/{userId}?page=0&size=20"));
+        ENDPOINTS.put("transactions-deep-page", Endpoint.get("/api/transactions/user/{userId}?page=200&size=20"));
+        ENDPOINTS.put("transactions-scroll", Endpoint.get("/api/transactions/user/{userId}/scroll?size=20"));
+        ENDPOINTS.put("transactions-recent", Endpoint.get("/api/transactions/user/{userId}/recent?size=5"));
+        ENDPOINTS.put("transactions-filter", Endpoint.get(
+            "/api/transactions?userId={userId}&categoryId={categoryId}&startDate={from}&endDate={to}&size=20"));
+        ENDPOINTS.put("transactions-account", Endpoint.get("/api/transactions/account/{accountId}?size=20"));
+        ENDPOINTS.put("transactions-create", new Endpoint("POST",
+            "/api/transactions?accountId={accountId}&categoryId={categoryId}",
+            "{\"amount\":-12.34,\"transactionDate\":\"{date}\",\"description\":\"Load test\"}"));
+        ENDPOINTS.put("reports-dashboard", Endpoint.get("/api/reports/dashboard?userId={userId}"));
+        ENDPOINTS.put("reports-monthly", Endpoint.get("/api/reports/monthly?userId={userId}&year={year}&month={month}"));
+        ENDPOINTS.put("reports-yearly", Endpoint.get("/api/reports/yearly?userId={userId}&year={year}"));
+        ENDPOINTS.put("reports-category", Endpoint.get(
+            "/api/reports/category?userId={userId}&categoryId={categoryId}&startDate={from}&endDate={to}"));
+        ENDPOINTS.put("accounts-user", Endpoint.get("/api/accounts/user/{userId}"));
+        ENDPOINTS.put("accounts-total-balance", Endpoint.get("/api/accounts/user/{userId}/total-balance"));
+        ENDPOINTS.put("accounts-by-id", Endpoint.get("/api/accounts/{accountId}"));
+
+        // What the frontend does on a typical visit: dashboard, a few lists, occasional report
+        PRESETS.put("browse", weights("reports-dashboard", 4, "transactions-page", 4, "transactions-recent", 2,
+            "transactions-scroll", 2, "transactions-filter", 1, "accounts-user", 2, "accounts-total-balance", 1,
+            "reports-monthly", 1));
+        PRESETS.put("reports", weights("reports-dashboard", 2, "reports-monthly", 3, "reports-yearly", 2,
+            "reports-category", 3));
+        PRESETS.put("accounts", weights("accounts-user", 3, "accounts-total-balance", 2, "accounts-by-id", 2,
+            "transactions-account", 3));
+        PRESETS.put("write-heavy", weights("transactions-create", 3, "reports-dashboard", 2,
+            "transactions-recent", 2, "accounts-total-balance", 1));
+    }
+
+    private static final LocalDate DATA_END = BenchmarkDataGenerator.END_DATE;
+    private static final ObjectMapper JSON = new ObjectMapper().findAndRegisterModules()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestRunner() {
+    }
+
+    /** Every client sends the same GET; results are reported under {@code label}. */
+    public static Result run(String label, URI uri, int concurrency, Duration warmup, Duration duration)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        return runLoop(concurrency, warmup, duration, random -> new Named(label, request))
+            .get(label).summarize(label, concurrency, duration);
+    }
+
+    public static Report run(URI baseUri, Mix mix, List<Target> targets, int concurrency, Duration warmup,
+                             Duration duration) throws InterruptedException {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No target users");
+        }
+        List<String> names = new ArrayList<>();
+        int[] cumulative = new int[mix.weights().size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.weights().entrySet()) {
+            total += entry.getValue();
+            cumulative[names.size()] = total;
+            names.add(entry.getKey());
+        }
+        int totalWeight = total;
+
+        Map<String, Samples> samples = runLoop(concurrency, warmup, duration, random -> {
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulative[index] <= pick) {
+                index++;
+            }
+            String name = names.get(index);
+            Target target = targets.get(random.nextInt(targets.size()));
+            return new Named(name, request(baseUri, ENDPOINTS.get(name), target, random));
+        });
+
+        Samples all = new Samples();
+        List<Result> endpoints = new ArrayList<>();
+        for (String name : names) {
+            Samples endpoint = samples.getOrDefault(name, new Samples());
+            all.addAll(endpoint);
+            endpoints.add(endpoint.summarize(name, concurrency, duration));
+        }
+        return new Report(mix.name(), all.summarize("total", concurrency, duration), endpoints);
+    }
+
+    /** Users whose email starts with {@code emailPrefix}, with their account and category ids. */
+    public static List<Target> discoverTargets(URI baseUri, String emailPrefix, int limit)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        List<Target> targets = new ArrayList<>();
+        for (JsonNode user : getJson(client, baseUri.resolve("/api/users"))) {
+            if (targets.size() == limit) {
+                break;
+            }
+            if (!user.path("email").asText().startsWith(emailPrefix)) {
+                continue;
+            }
+            long userId = user.get("id").asLong();
+            List<Long> accountIds = ids(getJson(client, baseUri.resolve("/api/accounts/user/" + userId)));
+            List<Long> categoryIds = ids(getJson(client, baseUri.resolve("/api/categories/user/" + userId)));
+            if (!accountIds.isEmpty() && !categoryIds.isEmpty()) {
+                targets.add(new Target(userId, accountIds, categoryIds));
+            }
+        }
+        return targets;
+    }
+
+    public static void writeJson(Report report, Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        JSON.writeValue(path.toFile(), report);
+    }
+
+    private record Named(String name, HttpRequest request) {
+    }
+
+    private interface RequestSource {
+        Named next(SplittableRandom random);
+    }
+
+    private static Map<String, Samples> runLoop(int concurrency, Duration warmup, Duration duration,
+                                                RequestSource source) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        try {
+            List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                // Seeded per client so a rerun sends the same request sequence
+                SplittableRandom random = new SplittableRandom(i);
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    return loop(client, source, random, measureFrom, measureUntil);
+                }));
+            }
+            start.countDown();
+
+            Map<String, Samples> all = new HashMap<>();
+            for (Future<Map<String, Samples>> future : futures) {
+                future.get().forEach((name, samples) -> all.computeIfAbsent(name, n -> new Samples()).addAll(samples));
+            }
+            return all;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static Map<String, Samples> loop(HttpClient client, RequestSource source, SplittableRandom random,
+                                             long measureFrom, long measureUntil) {
+        Map<String, Samples> samples = new HashMap<>();
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            Named next = source.next(random);
+            boolean ok;
+            try {
+                ok = client.send(next.request(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long end = System.nanoTime();
+            if (now >= measureFrom && end <= measureUntil) {
+                samples.computeIfAbsent(next.name(), n -> new Samples()).add(end - now, ok);
+            }
+        }
+        return samples;
+    }
+
+    private static HttpRequest request(URI baseUri, Endpoint endpoint, Target target, SplittableRandom random) {
+        // Reports and filters look at a period within the last two years of the seeded data
+        LocalDate from = DATA_END.minusMonths(random.nextInt(24)).withDayOfMonth(1);
+        Map<String, String> values = Map.of(
+            "{userId}", String.valueOf(target.userId()),
+            "{accountId}", String.valueOf(target.accountIds().get(random.nextInt(target.accountIds().size()))),
+            "{categoryId}", String.valueOf(target.categoryIds().get(random.nextInt(target.categoryIds().size()))),
+            "{year}", String.valueOf(from.getYear()),
+            "{month}", String.valueOf(from.getMonthValue()),
+            "{from}", from.toString(),
+            "{to}", from.plusMonths(3).minusDays(1).toString(),
+            "{date}", DATA_END.minusDays(random.nextInt(30)).toString());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(fill(endpoint.path(), values)))
+            .timeout(Duration.ofSeconds(60));
+        if (endpoint.body() == null) {
+            return builder.method(endpoint.method(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+            .method(endpoint.method(), HttpRequest.BodyPublishers.ofString(fill(endpoint.body(), values)))
+            .build();
+    }
+
+    private static String fill(String template, Map<String, String> values) {
+        String filled = template;
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            filled = filled.replace(value.getKey(), value.getValue());
+        }
+        return filled;
+    }
+
+    private static Map<String, Integer> weights(Object... pairs) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            weights.put((String) pairs[i], (Integer) pairs[i + 1]);
+        }
+        return weights;
+    }
+
+    private static JsonNode getJson(HttpClient client, URI uri) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + uri + " returned " + response.statusCode());
+        }
+        return JSON.readTree(response.body());
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result summarize(String label, int concurrency, Duration duration) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double seconds = duration.toNanos() / 1e9;
+            return new Result(label, concurrency, size, errors, seconds, size / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), size > 0 ? sorted[size - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        URI baseUri = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "browse"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "50"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+
+        List<Target> targets = discoverTargets(baseUri, options.getOrDefault("prefix", "loadgen-"), users);
+        Report report = run(baseUri, mix, targets, concurrency, Duration.ofSeconds(warmup), Duration.ofSeconds(duration));
+        System.out.println("users=" + targets.size() + " " + report);
+        if (options.containsKey("report")) {
+            writeJson(report, Path.of(options.get("report")));
+        }
+    }
+}
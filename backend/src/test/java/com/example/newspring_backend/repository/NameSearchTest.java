@@ -0,0 +1,72 @@
+package com.example.newspring_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.AccountResponse;
+import com.example.newspring_backend.dto.CategoryResponse;
+import com.example.newspring_backend.dto.UserResponse;
+
+/**
+ * Name searches match the input literally and case-insensitively: {@code %},
+ * {@code _} and backslashes in the search text are not wildcards.
+ */
+@SpringBootTest
+class NameSearchTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash, first_name, last_name) " +
+            "VALUES ('name-search@example.com', 'x', 'Zed_100%', 'Name\\Search') RETURNING id",
+            Long.class);
+        jdbcTemplate.update("INSERT INTO account (user_id, name) VALUES (?, 'Savings 100%'), (?, 'Checking')",
+            userId, userId);
+        jdbcTemplate.update(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Eating_out', 'EXPENSE'), (?, 'Eating in', 'EXPENSE')",
+            userId, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void wildcardsInTheInputAreLiteral() {
+        assertThat(accountRepository.searchResponses(userId, LikePatterns.contains("%")))
+            .extracting(AccountResponse::name).containsExactly("Savings 100%");
+        assertThat(accountRepository.searchResponses(userId, LikePatterns.contains("CHECK")))
+            .extracting(AccountResponse::name).containsExactly("Checking");
+
+        assertThat(categoryRepository.searchResponses(userId, LikePatterns.contains("_")))
+            .extracting(CategoryResponse::name).containsExactly("Eating_out");
+
+        assertThat(userRepository.searchResponses(LikePatterns.contains("zed_100%")))
+            .extracting(UserResponse::id).containsExactly(userId);
+        assertThat(userRepository.searchResponses(LikePatterns.contains("name\\s")))
+            .extracting(UserResponse::id).containsExactly(userId);
+        assertThat(userRepository.searchResponses(LikePatterns.contains("zed_1000")))
+            .isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.newspring_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.AccountResponse;
+import com.example.newspring_backend.dto.CategoryResponse;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Category;
+import com.example.newspring_backend.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Repeat reads of a user's accounts and categories are served from the cache
+ * without SQL, and writes through the repositories evict the owner's entries.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('cache-test@example.com', 'x') RETURNING id",
+            Long.class);
+        jdbcTemplate.update("INSERT INTO account (user_id, name) VALUES (?, 'Checking')", userId);
+        jdbcTemplate.update("INSERT INTO category (user_id, name, type) VALUES (?, 'Salary', 'INCOME')", userId);
+        jdbcTemplate.update("INSERT INTO category (user_id, name, type) VALUES (?, 'Food', 'EXPENSE')", userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findById(userId).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void repeatReadsIssueNoSql() {
+        assertThat(statementsFor(() -> accountRepository.findResponsesByUserId(userId))).isEqualTo(1);
+        assertThat(statementsFor(() -> accountRepository.findResponsesByUserId(userId))).isZero();
+
+        assertThat(statementsFor(() -> categoryRepository.findResponsesByUserId(userId))).isEqualTo(1);
+        assertThat(statementsFor(() -> categoryRepository.findResponsesByUserId(userId))).isZero();
+
+        assertThat(statementsFor(() -> categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.INCOME)))
+            .isEqualTo(1);
+        assertThat(statementsFor(() -> categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.INCOME)))
+            .isZero();
+
+        CaffeineCache accounts = (CaffeineCache) cacheManager.getCache("accountsByUser");
+        assertThat(accounts.getNativeCache().stats().hitCount()).isPositive();
+    }
+
+    @Test
+    void writesEvictTheOwnersEntries() {
+        User user = userRepository.findById(userId).orElseThrow();
+        accountRepository.findResponsesByUserId(userId);
+        categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.EXPENSE);
+
+        Account savings = accountRepository.save(new Account(user, "Savings", "USD", BigDecimal.ZERO));
+        assertThat(accountRepository.findResponsesByUserId(userId))
+            .extracting(AccountResponse::name).containsExactlyInAnyOrder("Checking", "Savings");
+
+        accountRepository.delete(savings);
+        assertThat(accountRepository.findResponsesByUserId(userId))
+            .extracting(AccountResponse::name).containsExactly("Checking");
+
+        // Moving a category between types must refresh both typed lists
+        Category salary = categoryRepository.findByUserIdAndType(userId, Category.CategoryType.INCOME).get(0);
+        salary.setType(Category.CategoryType.EXPENSE);
+        categoryRepository.save(salary);
+        List<CategoryResponse> expense = categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.EXPENSE);
+        assertThat(expense).extracting(CategoryResponse::name).containsExactly("Food", "Salary");
+        assertThat(categoryRepository.findResponsesByUserIdAndType(userId, Category.CategoryType.INCOME)).isEmpty();
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.newspring_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.config.SqlStatementScope;
+import com.example.newspring_backend.dto.TransactionCursor;
+import com.example.newspring_backend.dto.TransactionFilter;
+import com.example.newspring_backend.service.TransactionPartitionService;
+
+/**
+ * Runs the filtered listing for the common filter combinations, captures the
+ * SQL Hibernate generated and checks with EXPLAIN that each combination gets
+ * only its own predicates and the index that fits it.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionFilterPlanTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "transactionDate", "id");
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    private Long userId;
+    private Long otherUserId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        transactionPartitionService.ensurePartitions(2020, 2025);
+        // The user under test owns a fifth of the rows; the first account and category hold 1% of each
+        // user's rows, so a filter on them is far more selective than the user alone
+        otherUserId = seedUser("filter-plan-other@example.com", 80_000);
+        userId = seedUser("filter-plan-test@example.com", 20_000);
+        accountId = jdbcTemplate.queryForObject("SELECT min(id) FROM account WHERE user_id = ?", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject("SELECT min(id) FROM category WHERE user_id = ?", Long.class, userId);
+        // Index-only scans need an up-to-date visibility map
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+        jdbcTemplate.execute("VACUUM ANALYZE account");
+        jdbcTemplate.execute("VACUUM ANALYZE category");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id IN (?, ?)", userId, otherUserId);
+    }
+
+    private Long seedUser(String email, int rows) {
+        Long id = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES (?, 'x') RETURNING id", Long.class, email);
+        jdbcTemplate.update(
+            "INSERT INTO account (user_id, name) SELECT ?, 'Filter ' || g FROM generate_series(1, 10) g", id);
+        jdbcTemplate.update(
+            "INSERT INTO category (user_id, name, type) SELECT ?, 'Filter ' || g, 'EXPENSE' " +
+            "FROM generate_series(1, 10) g", id);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date) " +
+            "SELECT CASE WHEN g % 100 = 0 THEN a.ids[1] ELSE a.ids[2 + g % 9] END, " +
+            "CASE WHEN g % 100 = 50 THEN c.ids[1] ELSE c.ids[2 + g % 9] END, " +
+            "-(g % 500) - 1, DATE '2020-01-01' + (g % 1826) " +
+            "FROM generate_series(1, ?) g, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM account WHERE user_id = ?) a, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM category WHERE user_id = ?) c",
+            rows, id, id);
+        return id;
+    }
+
+    @Test
+    void userOnlyReadsUserIndexInSortOrder() {
+        String sql = listingSql(filter(null, null, null, null, null));
+        String plan = explain(sql, userId, 0, PAGE_SIZE);
+
+        assertThat(sql).doesNotContainIgnoringCase("is null");
+        assertThat(plan).containsPattern("Index Scan Backward using transaction_y2024_user_id_\\w+ on transaction_y2024");
+        assertThat(plan).doesNotContainPattern("(?m)->  (Incremental )?Sort ");
+        assertThat(plan).doesNotContain("Seq Scan on transaction");
+    }
+
+    @Test
+    void dateRangeIsPrunedAndBoundsTheUserIndex() {
+        LocalDate start = LocalDate.of(2022, 3, 1);
+        LocalDate end = LocalDate.of(2022, 3, 31);
+        String sql = listingSql(filter(null, null, start, end, null));
+        String plan = explain(sql, userId, Date.valueOf(start), Date.valueOf(end), 0, PAGE_SIZE);
+
+        assertThat(plan).containsPattern("Index Scan Backward using transaction_y2022_user_id_\\w+ on transaction_y2022");
+        assertThat(plan).containsPattern("Index Cond: \\(\\(user_id = \\S+\\) AND \\(transaction_date >= ");
+        assertThat(partitionsIn(plan)).containsExactly("transaction_y2022");
+    }
+
+    @Test
+    void accountFilterUsesAccountIndex() {
+        String sql = listingSql(filter(accountId, null, null, null, null));
+        String plan = explain(sql, userId, accountId, 0, PAGE_SIZE);
+
+        assertThat(sql).contains("t1_0.account_id=?");
+        assertThat(plan).containsPattern("Index Scan Backward using transaction_y2024_account_id_\\w+ on transaction_y2024");
+        assertThat(plan).doesNotContainPattern("(?m)->  (Incremental )?Sort ");
+    }
+
+    @Test
+    void categoryAndDateRangeUseCategoryIndexOnOnePartition() {
+        LocalDate start = LocalDate.of(2022, 1, 1);
+        LocalDate end = LocalDate.of(2022, 12, 31);
+        String sql = listingSql(filter(null, categoryId, start, end, null));
+        String plan = explain(sql, userId, categoryId, Date.valueOf(start), Date.valueOf(end), 0, PAGE_SIZE);
+
+        // A handful of matches may be read with a bitmap scan and sorted; either way through the category index
+        assertThat(plan).containsPattern("(Index Scan Backward using|Bitmap Index Scan on) transaction_y2022_category_id_");
+        assertThat(partitionsIn(plan)).containsExactly("transaction_y2022");
+    }
+
+    @Test
+    void amountFilterOnlyAddsItsOwnPredicate() {
+        String sql = listingSql(filter(null, null, null, null, new BigDecimal("-10")));
+
+        assertThat(sql).contains("where t1_0.user_id=? and t1_0.amount>=? order by");
+    }
+
+    @Test
+    void countQueryReadsTransactionOnly() {
+        String sql;
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            transactionRepository.findResponses(filter(accountId, null, null, null, null),
+                PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+            sql = captured(scope, "select count(");
+        }
+        String plan = explain(sql, userId, accountId);
+
+        assertThat(sql).doesNotContain(" join ");
+        assertThat(plan).doesNotContain(" on account");
+    }
+
+    @Test
+    void keysetWindowSeeksIntoUserIndex() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2023, 6, 15), Long.MAX_VALUE);
+        String sql;
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            transactionRepository.findResponsesAfter(filter(null, null, null, null, null), cursor, PAGE_SIZE);
+            sql = captured(scope, "select t1_0.id,");
+        }
+        Date cursorDate = Date.valueOf(cursor.transactionDate());
+        String plan = explain(sql, userId, cursorDate, cursorDate, cursor.id(), PAGE_SIZE + 1);
+
+        assertThat(plan).containsPattern("Index Cond: \\(\\(user_id = \\S+\\) AND \\(transaction_date <= ");
+        assertThat(partitionsIn(plan)).doesNotContain("transaction_y2024", "transaction_y2025");
+        assertThat(plan).doesNotContainPattern("(?m)->  (Incremental )?Sort ");
+    }
+
+    private TransactionFilter filter(Long accountId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                                     BigDecimal minAmount) {
+        return new TransactionFilter(userId, accountId, categoryId, startDate, endDate, minAmount, null);
+    }
+
+    // The listing SELECT Hibernate generated for the first page of this filter, newest first
+    private String listingSql(TransactionFilter filter) {
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            transactionRepository.findResponses(filter, PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+            return captured(scope, "select t1_0.id,");
+        }
+    }
+
+    private static String captured(SqlStatementScope scope, String prefix) {
+        return scope.repeatedMoreThan(0).keySet().stream()
+            .filter(sql -> sql.startsWith(prefix))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    // Distinct transaction partitions the plan reads
+    private static List<String> partitionsIn(String plan) {
+        return Pattern.compile(" on (transaction_(?:y\\d{4}|default))\\b").matcher(plan).results()
+            .map(m -> m.group(1))
+            .distinct()
+            .toList();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.newspring_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.service.TransactionPartitionService;
+
+/**
+ * Verifies with EXPLAIN that date-bounded queries are pruned to the yearly
+ * partitions they cover, filter on the denormalized {@code user_id} without
+ * touching {@code account}, and that the monthly summary is answered by an
+ * index-only scan of that partition's copy of {@code idx_transaction_user_date}.
+ * The SQL mirrors what Hibernate generates for the corresponding
+ * {@link TransactionRepository} queries.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionRepositoryPlanTest {
+
+    private static final String INCOME_BETWEEN_SQL =
+        "SELECT sum(t1_0.amount) FROM transaction t1_0 " +
+        "WHERE t1_0.user_id = ? AND t1_0.amount > 0 " +
+        "AND t1_0.transaction_date >= ? AND t1_0.transaction_date < ?";
+
+    private static final String CATEGORY_TOTAL_SQL =
+        "SELECT sum(t1_0.amount) FROM transaction t1_0 " +
+        "WHERE t1_0.user_id = ? AND t1_0.category_id = ? " +
+        "AND t1_0.transaction_date BETWEEN ? AND ?";
+
+    // Per-day inner aggregate of TransactionRepository.streamTimeseries grouped by category
+    private static final String DAILY_BY_CATEGORY_SQL =
+        "SELECT t.transaction_date, t.category_id, sum(t.amount), count(*) FROM transaction t " +
+        "WHERE t.user_id = ? AND t.transaction_date >= ? AND t.transaction_date < ? " +
+        "GROUP BY 1, 2";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('plan-test@example.com', 'x') RETURNING id",
+            Long.class);
+        jdbcTemplate.update(
+            "INSERT INTO account (user_id, name) SELECT ?, 'Plan ' || g FROM generate_series(1, 3) g", userId);
+        transactionPartitionService.ensurePartitions(2020, 2025);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date) " +
+            "SELECT a.ids[1 + g % 3], CASE WHEN g % 4 = 0 THEN 500 ELSE -25 END, DATE '2020-01-01' + (g % 1826) " +
+            "FROM generate_series(1, 60000) g, " +
+            "(SELECT array_agg(id ORDER BY id) ids FROM account WHERE user_id = ?) a",
+            userId);
+        // Index-only scans need an up-to-date visibility map
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+        jdbcTemplate.execute("VACUUM ANALYZE account");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void monthlySummaryUsesIndexOnlyScan() {
+        String plan = explain(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 4, 1));
+
+        assertThat(plan).containsPattern("Index Only Scan using transaction_y2022_user_id_\\w+ on transaction_y2022");
+        assertThat(plan).doesNotContain("Seq Scan on transaction");
+        assertThat(plan).doesNotContain(" on account");
+        assertThat(partitionsIn(plan)).containsExactly("transaction_y2022");
+    }
+
+    @Test
+    void groupedTimeseriesUsesIndexOnlyScan() {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + DAILY_BY_CATEGORY_SQL, String.class,
+            userId, Date.valueOf(LocalDate.of(2022, 3, 1)), Date.valueOf(LocalDate.of(2022, 4, 1)));
+        String plan = String.join("\n", lines);
+
+        assertThat(plan).containsPattern("Index Only Scan using transaction_y2022_user_id_\\w+ on transaction_y2022");
+        assertThat(plan).doesNotContain("Seq Scan on transaction");
+    }
+
+    @Test
+    void yearlySummaryReadsOnlyThatYearsPartition() {
+        // The range covers the whole partition and this user owns nearly all of it, so the
+        // planner may scan the partition outright; what matters is that no other year is read
+        String plan = explain(LocalDate.of(2022, 1, 1), LocalDate.of(2023, 1, 1));
+
+        assertThat(partitionsIn(plan)).containsExactly("transaction_y2022");
+    }
+
+    @Test
+    void rangeAcrossYearEndScansBothYears() {
+        String plan = explain(LocalDate.of(2021, 12, 1), LocalDate.of(2022, 2, 1));
+
+        assertThat(partitionsIn(plan)).containsExactlyInAnyOrder("transaction_y2021", "transaction_y2022");
+    }
+
+    @Test
+    void inclusiveCategoryRangeIsPruned() {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + CATEGORY_TOTAL_SQL, String.class,
+            userId, 1L, Date.valueOf(LocalDate.of(2023, 1, 1)), Date.valueOf(LocalDate.of(2023, 12, 31)));
+
+        assertThat(partitionsIn(String.join("\n", lines))).containsExactly("transaction_y2023");
+    }
+
+    @Test
+    void halfOpenRangeExcludesNextPeriod() {
+        // 2022-03-01 .. 2022-03-31 only; the row dated 2022-04-01 must not be counted
+        LocalDate start = LocalDate.of(2022, 3, 1);
+        Long expected = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM transaction t " +
+            "WHERE t.user_id = ? AND t.amount > 0 AND t.transaction_date BETWEEN ? AND ?",
+            Long.class, userId, Date.valueOf(start), Date.valueOf(LocalDate.of(2022, 3, 31)));
+
+        assertThat(transactionRepository.getTotalIncomeByMonth(userId, 3, 2022))
+            .isEqualByComparingTo(String.valueOf(expected * 500));
+    }
+
+    // Distinct transaction partitions the plan reads
+    private static List<String> partitionsIn(String plan) {
+        return Pattern.compile(" on (transaction_(?:y\\d{4}|default))\\b").matcher(plan).results()
+            .map(m -> m.group(1))
+            .distinct()
+            .toList();
+    }
+
+    private String explain(LocalDate start, LocalDate end) {
+        List<String> lines = jdbcTemplate.queryForList(
+            "EXPLAIN " + INCOME_BETWEEN_SQL, String.class, userId, Date.valueOf(start), Date.valueOf(end));
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.controller.AccountController;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Account;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.AccountRepository;
+
+/**
+ * Many threads create, update and delete transactions on one account at the
+ * same time, alone or alongside account renames; the stored balance must end
+ * up exactly at opening balance plus the sum of the surviving transactions,
+ * also after a category delete takes its transactions with it.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class AccountBalanceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 50;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.0000");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountController accountController;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long userId;
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('balance-stress@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name, balance) VALUES (?, 'Shared', ?) RETURNING id",
+            Long.class, userId, OPENING_BALANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void concurrentWritesKeepBalanceExact() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return runWrites(thread);
+                }));
+            }
+            start.countDown();
+
+            BigDecimal expected = OPENING_BALANCE;
+            for (Future<BigDecimal> result : results) {
+                expected = expected.add(result.get());
+            }
+
+            BigDecimal stored = accountRepository.findById(accountId).orElseThrow().getBalance();
+            BigDecimal fromHistory = OPENING_BALANCE.add(jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE account_id = ?", BigDecimal.class, accountId));
+            assertThat(stored).isEqualByComparingTo(expected);
+            assertThat(stored).isEqualByComparingTo(fromHistory);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void renamesDoNotOverwriteConcurrentBalanceChanges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        try {
+            // Half the threads write transactions, the other half keep renaming the account
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    if (thread % 2 == 0) {
+                        return runWrites(thread);
+                    }
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        Account details = new Account(null, "Shared " + thread + "-" + i, "USD", BigDecimal.ZERO);
+                        assertThat(accountController.updateAccount(accountId, details).getStatusCode().is2xxSuccessful())
+                            .isTrue();
+                    }
+                    return BigDecimal.ZERO;
+                }));
+            }
+            start.countDown();
+
+            BigDecimal expected = OPENING_BALANCE;
+            for (Future<BigDecimal> result : results) {
+                expected = expected.add(result.get());
+            }
+
+            assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo(expected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deletingACategoryTakesItsTransactionsOutOfTheBalance() {
+        Long otherAccountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Other') RETURNING id", Long.class, userId);
+        Long categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Doomed', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+        transactionService.create(new Transaction(null, null, new BigDecimal("-40.25"), LocalDate.of(2024, 2, 1), "Gone"),
+            accountId, categoryId).orElseThrow();
+        transactionService.create(new Transaction(null, null, new BigDecimal("-9.75"), LocalDate.of(2024, 3, 1), "Gone"),
+            accountId, categoryId).orElseThrow();
+        transactionService.create(new Transaction(null, null, new BigDecimal("15.00"), LocalDate.of(2024, 3, 1), "Gone"),
+            otherAccountId, categoryId).orElseThrow();
+        transactionService.create(new Transaction(null, null, new BigDecimal("-5.00"), LocalDate.of(2024, 3, 1), "Kept"),
+            accountId, null).orElseThrow();
+
+        assertThat(categoryService.delete(categoryId)).isTrue();
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+            .isEqualByComparingTo(OPENING_BALANCE.subtract(new BigDecimal("5.00")));
+        assertThat(accountRepository.findById(otherAccountId).orElseThrow().getBalance()).isEqualByComparingTo("0");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transaction WHERE category_id = ?", Long.class, categoryId)).isZero();
+    }
+
+    // Returns the net amount this thread left on the account
+    private BigDecimal runWrites(int thread) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (int i = 0; i < WRITES_PER_THREAD; i++) {
+            BigDecimal amount = new BigDecimal((thread * 7 + i) % 41 - 20 + ".37");
+            Transaction transaction = new Transaction(null, null, amount, LocalDate.of(2024, 1 + i % 12, 1), "Stress");
+            TransactionResponse created = transactionService.create(transaction, accountId, null).orElseThrow();
+
+            if (i % 5 == 0) {
+                transactionService.delete(created.id());
+            } else if (i % 3 == 0) {
+                BigDecimal changed = amount.add(new BigDecimal("0.11"));
+                Transaction details = new Transaction(null, null, changed, created.transactionDate(), "Stress edited");
+                transactionService.update(created.id(), details).orElseThrow();
+                net = net.add(changed);
+            } else {
+                net = net.add(amount);
+            }
+        }
+        return net;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.entity.Transaction;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A client on {@code /api/reports/dashboard/stream} gets a delta for each
+ * committed write of its own user only, and a refresh when the user's rollup
+ * is rebuilt; a second stream for the same user does not disturb the first.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class DashboardFeedTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private DashboardFeed dashboardFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private CompletableFuture<HttpResponse<Stream<String>>> stream;
+
+    private Long userId;
+    private Long otherUserId;
+    private Long accountId;
+    private Long otherAccountId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('dashboard-feed@example.com', 'x') RETURNING id",
+            Long.class);
+        otherUserId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('dashboard-feed-other@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Checking') RETURNING id", Long.class, userId);
+        otherAccountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Checking') RETURNING id", Long.class, otherUserId);
+
+        stream = open(events);
+        assertThat(next().name()).isEqualTo("ready");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.thenAccept(response -> response.body().close());
+        jdbcTemplate.update("DELETE FROM app_user WHERE id IN (?, ?)", userId, otherUserId);
+    }
+
+    @Test
+    void pushesDeltasForTheUsersWrites() throws Exception {
+        transactionService.create(
+            new Transaction(null, null, new BigDecimal("-12.3456"), LocalDate.of(2025, 3, 9), "Feed test"),
+            otherAccountId, null).orElseThrow();
+        transactionService.create(
+            new Transaction(null, null, new BigDecimal("-12.3456"), LocalDate.of(2025, 3, 9), "Feed test"),
+            accountId, null).orElseThrow();
+
+        Event event = next();
+        assertThat(event.name()).isEqualTo("delta");
+        JsonNode delta = objectMapper.readTree(event.data());
+        assertThat(delta.get("year").asInt()).isEqualTo(2025);
+        assertThat(delta.get("month").asInt()).isEqualTo(3);
+        assertThat(delta.get("income").decimalValue()).isEqualByComparingTo("0");
+        assertThat(delta.get("expense").decimalValue()).isEqualByComparingTo("12.3456");
+        assertThat(delta.get("net").decimalValue()).isEqualByComparingTo("-12.3456");
+        assertThat(delta.get("transactionCount").asLong()).isEqualTo(1L);
+        assertThat(events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void rebuildSendsRefresh() throws Exception {
+        monthlySummaryService.rebuildUser(userId);
+
+        assertThat(next().name()).isEqualTo("refresh");
+    }
+
+    @Test
+    void closedStreamsAreDropped() throws Exception {
+        assertThat(dashboardFeed.connections()).isPositive();
+        int open = dashboardFeed.connections();
+        stream.thenAccept(response -> response.body().close()).get(5, TimeUnit.SECONDS);
+
+        // The server only notices a closed connection when it next writes to it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (dashboardFeed.connections() >= open && System.nanoTime() < deadline) {
+            dashboardFeed.heartbeat();
+            Thread.sleep(100);
+        }
+        assertThat(dashboardFeed.connections()).isLessThan(open);
+    }
+
+    @Test
+    void anotherTabDoesNotSignalExistingStreams() throws Exception {
+        BlockingQueue<Event> secondTab = new LinkedBlockingQueue<>();
+        CompletableFuture<HttpResponse<Stream<String>>> second = open(secondTab);
+        try {
+            assertThat(secondTab.poll(10, TimeUnit.SECONDS)).extracting(Event::name).isEqualTo("ready");
+            assertThat(events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+            monthlySummaryService.rebuildUser(userId);
+
+            assertThat(next().name()).isEqualTo("refresh");
+            assertThat(secondTab.poll(10, TimeUnit.SECONDS)).extracting(Event::name).isEqualTo("refresh");
+        } finally {
+            second.thenAccept(response -> response.body().close());
+        }
+    }
+
+    private CompletableFuture<HttpResponse<Stream<String>>> open(BlockingQueue<Event> into) {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/reports/dashboard/stream?userId=" + userId))
+            .header("Accept", "text/event-stream")
+            .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+            .thenApply(response -> {
+                CompletableFuture.runAsync(() -> read(response.body(), into));
+                return response;
+            });
+    }
+
+    private Event next() throws InterruptedException {
+        Event event = events.poll(10, TimeUnit.SECONDS);
+        assertThat(event).as("event within 10s").isNotNull();
+        return event;
+    }
+
+    // Collects "event:" and "data:" fields up to each blank line; comment-only heartbeats are skipped
+    private void read(Stream<String> lines, BlockingQueue<Event> into) {
+        String[] name = {null};
+        StringBuilder data = new StringBuilder();
+        try {
+            lines.forEach(line -> {
+                if (line.isEmpty()) {
+                    if (name[0] != null) {
+                        into.add(new Event(name[0], data.toString()));
+                    }
+                    name[0] = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    name[0] = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring("data:".length()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Stream closed by tearDown
+        }
+    }
+
+    private record Event(String name, String data) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Transaction;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+
+@SpringBootTest
+class MonthlySummaryServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private MonthlySummaryReconcileJob reconcileJob;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('rollup-test@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Rollup') RETURNING id", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Groceries', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void writesKeepRollupInSyncWithRawRows() {
+        TransactionResponse salary = transactionService.create(
+            new Transaction(null, null, new BigDecimal("3000.00"), LocalDate.of(2024, 5, 31), "Salary"),
+            accountId, null).orElseThrow();
+        TransactionResponse groceries = transactionService.create(
+            new Transaction(null, null, new BigDecimal("-80.25"), LocalDate.of(2024, 5, 3), "Groceries"),
+            accountId, categoryId).orElseThrow();
+        transactionService.create(
+            new Transaction(null, null, new BigDecimal("-19.75"), LocalDate.of(2024, 6, 1), "Groceries"),
+            accountId, categoryId).orElseThrow();
+
+        // Move the salary into June and drop the May groceries
+        Transaction moved = new Transaction(null, null, new BigDecimal("3100.00"), LocalDate.of(2024, 6, 1), "Salary");
+        transactionService.update(salary.id(), moved);
+        transactionService.delete(groceries.id());
+
+        PeriodSummary may = reportService.getMonthlySummary(userId, 2024, 5);
+        PeriodSummary june = reportService.getMonthlySummary(userId, 2024, 6);
+        assertThat(may.net().toBigDecimal()).isEqualByComparingTo("0");
+        assertThat(june.income().toBigDecimal()).isEqualByComparingTo("3100.00");
+        assertThat(june.expense().toBigDecimal()).isEqualByComparingTo("19.75");
+        assertThat(reportService.getCategoryTotal(userId, categoryId, LocalDate.of(2024, 5, 15), LocalDate.of(2024, 6, 30)).toBigDecimal())
+            .isEqualByComparingTo("-19.75");
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).doesNotContain(userId);
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        transactionService.create(
+            new Transaction(null, null, new BigDecimal("-42.00"), LocalDate.of(2024, 7, 4), "Fuel"),
+            accountId, categoryId).orElseThrow();
+        jdbcTemplate.update("UPDATE transaction SET amount = -50.00 WHERE account_id = ?", accountId);
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).contains(userId);
+
+        reconcileJob.reconcile();
+
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).doesNotContain(userId);
+        assertThat(reportService.getMonthlySummary(userId, 2024, 7).expense().toBigDecimal()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void amountsFinerThanTheColumnAreRoundedLikeIt() {
+        TransactionResponse created = transactionService.create(
+            new Transaction(null, null, new BigDecimal("-1.23456"), LocalDate.of(2024, 8, 2), "Fine"),
+            accountId, categoryId).orElseThrow();
+        transactionService.update(created.id(),
+            new Transaction(null, null, new BigDecimal("-2.00005"), LocalDate.of(2024, 8, 2), "Finer"));
+
+        assertThat(reportService.getMonthlySummary(userId, 2024, 8).expense().toBigDecimal()).isEqualByComparingTo("2.0001");
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM account WHERE id = ?", BigDecimal.class, accountId))
+            .isEqualByComparingTo("-2.0001");
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).doesNotContain(userId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.entity.Transaction;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Repeat report requests are served from memory, a committed write evicts
+ * only the entries of that user whose period overlaps the written month, and
+ * a load that raced a write is not kept.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReportCacheTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('report-cache@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Checking') RETURNING id", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Food', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+        create("-40.00", LocalDate.of(2024, 3, 10), categoryId);
+        create("-60.00", LocalDate.of(2024, 4, 10), categoryId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void repeatRequestsAreServedFromMemory() {
+        reportService.getMonthlySummary(userId, 2024, 3);
+        reportService.getYearlySummary(userId, 2024);
+        reportService.getCategoryTotal(userId, categoryId, LocalDate.of(2024, 3, 5), LocalDate.of(2024, 4, 20));
+
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 3))).isZero();
+        assertThat(statementsFor(() -> reportService.getYearlySummary(userId, 2024))).isZero();
+        assertThat(statementsFor(() -> reportService.getCategoryTotal(
+            userId, categoryId, LocalDate.of(2024, 3, 5), LocalDate.of(2024, 4, 20)))).isZero();
+
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", ReportCache.CACHE_NAME).gauge().value())
+            .isPositive();
+    }
+
+    @Test
+    void writeEvictsOnlyOverlappingPeriods() {
+        assertThat(reportService.getMonthlySummary(userId, 2024, 3).expense().toBigDecimal()).isEqualByComparingTo("40.00");
+        assertThat(reportService.getMonthlySummary(userId, 2024, 4).expense().toBigDecimal()).isEqualByComparingTo("60.00");
+        assertThat(reportService.getYearlySummary(userId, 2024).expense().toBigDecimal()).isEqualByComparingTo("100.00");
+        assertThat(reportService.getCategoryTotal(userId, categoryId, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)).toBigDecimal())
+            .isEqualByComparingTo("-60.00");
+
+        create("-5.00", LocalDate.of(2024, 3, 20), categoryId);
+
+        // March and the year overlap the write and are recomputed; April is still cached
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 3))).isPositive();
+        assertThat(reportService.getMonthlySummary(userId, 2024, 3).expense().toBigDecimal()).isEqualByComparingTo("45.00");
+        assertThat(reportService.getYearlySummary(userId, 2024).expense().toBigDecimal()).isEqualByComparingTo("105.00");
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 4))).isZero();
+        assertThat(statementsFor(() -> reportService.getCategoryTotal(
+            userId, categoryId, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)))).isZero();
+
+        // A rollup rebuild may change any period
+        monthlySummaryService.rebuildUser(userId);
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 4))).isPositive();
+    }
+
+    @Test
+    void loadOverlappingAWriteIsNotKept() throws Exception {
+        ReportCache.Key key = new ReportCache.Key(userId, "monthly", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1), null);
+
+        // The query read the pre-write rows, then the write committed and evicted before the result was cached
+        String stale = reportCache.get(key, () -> {
+            reportCache.onTransactionsChanged(TransactionsChangedEvent.of(userId, LocalDate.of(2024, 3, 20)));
+            return "stale";
+        });
+
+        assertThat(stale).isEqualTo("stale");
+        assertThat(reportCache.get(key, () -> "fresh")).isEqualTo("fresh");
+        assertThat(reportCache.get(key, () -> "reloaded")).isEqualTo("fresh");
+    }
+
+    private void create(String amount, LocalDate date, Long category) {
+        transactionService.create(new Transaction(null, null, new BigDecimal(amount), date, "Cache test"), accountId, category)
+            .orElseThrow();
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * A composition takes about as long as its slowest part, and a part that
+ * times out, throws or is rejected leaves the other parts' results intact.
+ */
+class ReportComposerTest {
+
+    private ReportComposer composer;
+
+    @AfterEach
+    void shutDown() {
+        composer.destroy();
+    }
+
+    @Test
+    void partsRunConcurrently() {
+        composer = composer(Duration.ofSeconds(5), 4, 10);
+
+        long start = System.nanoTime();
+        ReportComposer.Composition composition = composer.start();
+        CompletableFuture<String> a = composition.submit("a", sleepThen(300, "A"));
+        CompletableFuture<String> b = composition.submit("b", sleepThen(300, "B"));
+        CompletableFuture<String> c = composition.submit("c", sleepThen(300, "C"));
+        composition.join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(a.join() + b.join() + c.join()).isEqualTo("ABC");
+        assertThat(composition.unavailable()).isEmpty();
+        assertThat(elapsedMillis).isLessThan(800);
+    }
+
+    @Test
+    void slowPartTimesOutWithoutDelayingTheOthers() {
+        composer = composer(Duration.ofMillis(200), 4, 10);
+
+        long start = System.nanoTime();
+        ReportComposer.Composition composition = composer.start();
+        CompletableFuture<String> fast = composition.submit("fast", () -> "ok");
+        CompletableFuture<String> slow = composition.submit("slow", sleepThen(2_000, "late"));
+        composition.join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(fast.join()).isEqualTo("ok");
+        assertThat(slow.join()).isNull();
+        assertThat(composition.unavailable()).containsExactly("slow");
+        assertThat(elapsedMillis).isLessThan(1_500);
+    }
+
+    @Test
+    void failingPartIsReportedUnavailable() {
+        composer = composer(Duration.ofSeconds(5), 4, 10);
+
+        ReportComposer.Composition composition = composer.start();
+        CompletableFuture<String> ok = composition.submit("ok", () -> "ok");
+        CompletableFuture<String> broken = composition.submit("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        composition.join();
+
+        assertThat(ok.join()).isEqualTo("ok");
+        assertThat(broken.join()).isNull();
+        assertThat(composition.unavailable()).containsExactly("broken");
+    }
+
+    @Test
+    void saturatedExecutorRejectsInsteadOfQueueing() throws InterruptedException {
+        composer = composer(Duration.ofSeconds(5), 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ReportComposer.Composition composition = composer.start();
+        CompletableFuture<String> first = composition.submit("first", () -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> second = composition.submit("second", () -> "second");
+        release.countDown();
+        composition.join();
+
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(second.join()).isNull();
+        assertThat(composition.unavailable()).containsExactly("second");
+    }
+
+    private static ReportComposer composer(Duration timeout, int maxConcurrency, int queueCapacity) {
+        return new ReportComposer(new NoOpTransactionManager(), timeout, maxConcurrency, queueCapacity, false);
+    }
+
+    private static Supplier<String> sleepThen(long millis, String value) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.service.TimeseriesReportService.Bucket;
+import com.example.newspring_backend.service.TimeseriesReportService.GroupBy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+class TimeseriesReportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeseriesReportService timeseriesReportService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+    private Long accountId;
+    private Long savingsId;
+    private Long groceriesId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('timeseries-test@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Checking') RETURNING id", Long.class, userId);
+        savingsId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Savings') RETURNING id", Long.class, userId);
+        groceriesId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Groceries', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+        // Wednesday 2024-01-03 and Sunday 2024-01-07 share an ISO week; Monday 2024-01-08 starts the next
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date) VALUES " +
+            "(?, NULL, 3000, DATE '2024-01-03'), " +
+            "(?, ?, -40, DATE '2024-01-03'), " +
+            "(?, ?, -60, DATE '2024-01-07'), " +
+            "(?, NULL, 100, DATE '2024-01-08'), " +
+            "(?, ?, -25.50, DATE '2024-02-29'), " +
+            "(?, NULL, -5, DATE '2024-04-01')",
+            accountId, accountId, groceriesId, accountId, groceriesId, savingsId, accountId, groceriesId, accountId);
+        monthlySummaryService.rebuildUser(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void dailySeriesHasOneBucketPerDayWithTransactions() throws Exception {
+        JsonNode report = write(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), Bucket.DAY, GroupBy.NONE);
+
+        assertThat(report.get("bucket").asText()).isEqualTo("day");
+        assertThat(report.get("groupBy").asText()).isEqualTo("none");
+        assertThat(buckets(report)).containsExactly("2024-01-03", "2024-01-07", "2024-01-08", "2024-02-29");
+        JsonNode first = report.get("points").get(0);
+        assertThat(first.get("income").decimalValue()).isEqualByComparingTo("3000");
+        assertThat(first.get("expense").decimalValue()).isEqualByComparingTo("40");
+        assertThat(first.get("net").decimalValue()).isEqualByComparingTo("2960");
+        assertThat(first.get("transactionCount").asLong()).isEqualTo(2);
+        assertThat(first.get("groupId").isNull()).isTrue();
+    }
+
+    @Test
+    void weeklySeriesByCategoryStartsOnMonday() throws Exception {
+        JsonNode report = write(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), Bucket.WEEK, GroupBy.CATEGORY);
+
+        JsonNode points = report.get("points");
+        assertThat(buckets(report)).containsExactly("2024-01-01", "2024-01-01", "2024-01-08");
+        // Uncategorised rows come first within a bucket
+        assertThat(points.get(0).get("groupId").isNull()).isTrue();
+        assertThat(points.get(0).get("income").decimalValue()).isEqualByComparingTo("3000");
+        assertThat(points.get(1).get("groupId").asLong()).isEqualTo(groceriesId);
+        assertThat(points.get(1).get("groupName").asText()).isEqualTo("Groceries");
+        assertThat(points.get(1).get("expense").decimalValue()).isEqualByComparingTo("100");
+        assertThat(points.get(1).get("transactionCount").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    void monthlySeriesFromRollupMatchesRawAggregate() throws Exception {
+        // Whole months are read from monthly_summary, a range starting mid-month from the raw rows
+        JsonNode rollup = write(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30), Bucket.MONTH, GroupBy.ACCOUNT);
+        JsonNode raw = write(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 4, 30), Bucket.MONTH, GroupBy.ACCOUNT);
+
+        assertThat(buckets(rollup)).containsExactly("2024-01-01", "2024-01-01", "2024-02-01", "2024-04-01");
+        assertThat(rollup.get("points")).isEqualTo(raw.get("points"));
+        assertThat(rollup.get("points").get(1).get("groupName").asText()).isEqualTo("Savings");
+    }
+
+    @Test
+    void rangeEndIsInclusive() throws Exception {
+        JsonNode report = write(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 2, 29), Bucket.DAY, GroupBy.NONE);
+
+        assertThat(buckets(report)).containsExactly("2024-02-29");
+    }
+
+    private JsonNode write(LocalDate from, LocalDate to, Bucket bucket, GroupBy groupBy) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        timeseriesReportService.write(out, userId, from, to, bucket, groupBy);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private static List<String> buckets(JsonNode report) {
+        List<String> buckets = new ArrayList<>();
+        report.get("points").forEach(point -> buckets.add(point.get("bucket").asText()));
+        return buckets;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.DashboardTotals;
+import com.example.newspring_backend.dto.PeriodSummary;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.entity.Transaction;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * With the analytics index enabled, reports match a direct SQL aggregate of the
+ * raw rows, repeat reports run no SQL, and writes through
+ * {@link TransactionService} show up without a reload.
+ */
+@SpringBootTest(properties = {
+    "reports.analytics.enabled=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TransactionAnalyticsIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private TransactionAnalyticsIndex analyticsIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('analytics-index@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Checking') RETURNING id", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Food', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+        // Two years of mixed income and expense, every third row uncategorized
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, category_id, amount, transaction_date) " +
+            "SELECT ?, CASE WHEN g % 3 = 0 THEN NULL ELSE ? END, " +
+            "CASE WHEN g % 5 = 0 THEN 1000 + g % 7 * 0.0125 ELSE -(g % 97) - 0.3333 END, " +
+            "DATE '2023-01-01' + (g % 730) FROM generate_series(1, 3000) g",
+            accountId, categoryId);
+        monthlySummaryService.rebuildUser(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void reportsMatchSql() {
+        PeriodSummary march = reportService.getMonthlySummary(userId, 2024, 3);
+        assertThat(march.income().toBigDecimal()).isEqualByComparingTo(sql("amount > 0", "2024-03-01", "2024-04-01"));
+        assertThat(march.expense().toBigDecimal()).isEqualByComparingTo(sql("amount < 0", "2024-03-01", "2024-04-01").negate());
+
+        PeriodSummary year = reportService.getYearlySummary(userId, 2023);
+        assertThat(year.net().toBigDecimal()).isEqualByComparingTo(sql("true", "2023-01-01", "2024-01-01"));
+
+        // Partial months at both ends, inclusive end date
+        assertThat(reportService.getCategoryTotal(userId, categoryId, LocalDate.of(2023, 5, 17), LocalDate.of(2024, 2, 3)).toBigDecimal())
+            .isEqualByComparingTo(sql("category_id = " + categoryId, "2023-05-17", "2024-02-04"));
+
+        DashboardTotals dashboard = analyticsIndex.dashboardTotals(userId, 2024, 6);
+        assertThat(dashboard.monthIncome()).isEqualByComparingTo(sql("amount > 0", "2024-06-01", "2024-07-01"));
+        assertThat(dashboard.yearExpense()).isEqualByComparingTo(sql("amount < 0", "2024-01-01", "2025-01-01"));
+        assertThat(dashboard.transactionCount()).isEqualTo(3000L);
+    }
+
+    @Test
+    void repeatReportsRunNoSql() {
+        reportService.getMonthlySummary(userId, 2024, 3);
+
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 4))).isZero();
+        assertThat(statementsFor(() -> reportService.getYearlySummary(userId, 2023))).isZero();
+        assertThat(statementsFor(() -> reportService.getCategoryTotal(
+            userId, categoryId, LocalDate.of(2023, 1, 9), LocalDate.of(2023, 11, 20)))).isZero();
+    }
+
+    @Test
+    void writesAreAppliedInPlace() {
+        BigDecimal before = reportService.getMonthlySummary(userId, 2025, 1).expense().toBigDecimal();
+        assertThat(before).isEqualByComparingTo("0");
+
+        TransactionResponse created = transactionService.create(
+            new Transaction(null, null, new BigDecimal("-12.3456"), LocalDate.of(2025, 1, 15), "Index test"),
+            accountId, categoryId).orElseThrow();
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2025, 1))).isZero();
+        assertThat(reportService.getMonthlySummary(userId, 2025, 1).expense().toBigDecimal()).isEqualByComparingTo("12.3456");
+
+        transactionService.update(created.id(),
+            new Transaction(null, null, new BigDecimal("-20.00"), LocalDate.of(2025, 2, 1), "Moved"));
+        assertThat(reportService.getMonthlySummary(userId, 2025, 1).expense().toBigDecimal()).isEqualByComparingTo("0");
+        assertThat(reportService.getMonthlySummary(userId, 2025, 2).expense().toBigDecimal()).isEqualByComparingTo("20.00");
+        assertThat(reportService.getCategoryTotal(userId, categoryId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).toBigDecimal())
+            .isEqualByComparingTo("-20.00");
+
+        transactionService.delete(created.id());
+        assertThat(reportService.getYearlySummary(userId, 2025).expense().toBigDecimal()).isEqualByComparingTo("0");
+        assertThat(analyticsIndex.dashboardTotals(userId, 2025, 2).transactionCount()).isEqualTo(3000L);
+    }
+
+    @Test
+    void bulkChangesReload() {
+        reportService.getMonthlySummary(userId, 2024, 3);
+
+        monthlySummaryService.rebuildUser(userId);
+
+        assertThat(statementsFor(() -> reportService.getMonthlySummary(userId, 2024, 3))).isPositive();
+    }
+
+    @Test
+    void columnsStayInDateOrderAcrossUpserts() {
+        TransactionColumns columns = new TransactionColumns(2);
+        columns.append(1, 10, 100, 0, 1);
+        columns.append(2, 20, -50, 7, 1);
+        columns.upsert(3, 15, -25, 7, 1);
+        columns.upsert(1, 30, 100, 0, 1);
+        columns.upsert(1, 30, 100, 0, 1);
+
+        TransactionColumns.Totals early = new TransactionColumns.Totals();
+        columns.sum(10, 21, early);
+        TransactionColumns.Totals category = new TransactionColumns.Totals();
+        columns.sumCategory(0, 100, 7, category);
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(early.count()).isEqualTo(2);
+        assertThat(early.expense().toBigDecimal()).isEqualByComparingTo("-0.0075");
+        assertThat(category.net().toBigDecimal()).isEqualByComparingTo("-0.0075");
+        assertThat(columns.remove(2)).isTrue();
+        assertThat(columns.remove(2)).isFalse();
+    }
+
+    @Test
+    void randomWritesMatchAReferenceMap() {
+        TransactionColumns columns = new TransactionColumns(4);
+        Map<Long, long[]> reference = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(columns.remove(id)).isEqualTo(reference.remove(id) != null);
+            } else {
+                int day = random.nextInt(50);
+                long amount = random.nextInt(2_001) - 1_000;
+                columns.upsert(id, day, amount, 0, 1);
+                reference.put(id, new long[] {day, amount});
+            }
+        }
+
+        assertThat(columns.size()).isEqualTo(reference.size());
+        for (int from = 0; from < 50; from += 7) {
+            TransactionColumns.Totals totals = new TransactionColumns.Totals();
+            columns.sum(from, from + 7, totals);
+            int start = from;
+            long expected = reference.values().stream()
+                .filter(row -> row[0] >= start && row[0] < start + 7).mapToLong(row -> row[1]).sum();
+            assertThat(totals.net().units()).isEqualTo(expected);
+        }
+    }
+
+    private BigDecimal sql(String condition, String from, String to) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(amount), 0) FROM transaction WHERE user_id = ? AND " + condition +
+            " AND transaction_date >= CAST(? AS date) AND transaction_date < CAST(? AS date)",
+            BigDecimal.class, userId, from, to);
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+class TransactionExportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('export-test@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Main, Checking') RETURNING id", Long.class, userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description) VALUES " +
+            "(?, 2500.00, DATE '2024-01-31', 'Salary'), " +
+            "(?, -12.50, DATE '2024-02-01', 'Lunch \"deluxe\"'), " +
+            "(?, -99.99, DATE '2024-03-15', 'Shoes')",
+            accountId, accountId, accountId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void exportsCsvWithQuotingAndFilters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TransactionExportService.Format.CSV, out, userId, null, null,
+            LocalDate.of(2024, 2, 1), null, null, null);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,transactionDate,amount");
+        assertThat(lines.get(1)).contains(",2024-02-01,-12.5000,USD,\"Lunch \"\"deluxe\"\"\",,")
+            .endsWith(",\"Main, Checking\",,");
+        assertThat(lines.get(2)).contains(",2024-03-15,-99.9900,");
+    }
+
+    @Test
+    void exportsNdjsonOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TransactionExportService.Format.NDJSON, out, userId, accountId, null,
+            null, null, null, null);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("description").asText()).isEqualTo("Salary");
+        assertThat(first.get("transactionDate").asText()).isEqualTo("2024-01-31");
+        assertThat(first.get("accountName").asText()).isEqualTo("Main, Checking");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.dto.ImportResult;
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+
+@SpringBootTest
+class TransactionImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('import-test@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Import') RETURNING id", Long.class, userId);
+        categoryId = jdbcTemplate.queryForObject(
+            "INSERT INTO category (user_id, name, type) VALUES (?, 'Rent', 'EXPENSE') RETURNING id",
+            Long.class, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        String csv = "transactionDate,amount,accountId,categoryId,description\n" +
+            "2024-04-01,-1200.00," + accountId + "," + categoryId + ",\"Rent, April\"\n" +
+            "2024-04-15,not-a-number," + accountId + ",,Broken\n" +
+            "2024-04-20,50.00,999999999,,Unknown account\n" +
+            "2024-04-30,3000.00," + accountId + ",,Salary\n";
+
+        ImportResult result = importService.importCsv(userId, stream(csv));
+
+        assertThat(result.totalRows()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(ImportResult.RowError::row).containsExactly(2, 3);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT description FROM transaction WHERE account_id = ? AND amount < 0", String.class, accountId))
+            .isEqualTo("Rent, April");
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).doesNotContain(userId);
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM account WHERE id = ?", BigDecimal.class, accountId))
+            .isEqualByComparingTo("1800.00");
+    }
+
+    @Test
+    void importsJsonArrayWithPerRowErrors() throws Exception {
+        String json = "[" +
+            "{\"accountId\":" + accountId + ",\"amount\":-9.99,\"transactionDate\":\"2024-05-02\",\"description\":\"Music\"}," +
+            "{\"accountId\":" + accountId + ",\"amount\":-1.00,\"transactionDate\":\"05/02/2024\"}," +
+            "{\"accountId\":" + accountId + ",\"amount\":-1.23456,\"transactionDate\":\"2024-05-03\"}" +
+            "]";
+
+        ImportResult result = importService.importJson(userId, stream(json));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(ImportResult.RowError::row).containsExactly(2, 3);
+    }
+
+    @Test
+    void importsIntoAnAccountWithoutACurrency() throws Exception {
+        jdbcTemplate.update("UPDATE account SET currency = NULL WHERE id = ?", accountId);
+        String csv = "transactionDate,amount,accountId,categoryId,description\n" +
+            "2024-06-01,-25.50," + accountId + ",,Groceries\n";
+
+        ImportResult result = importService.importCsv(userId, stream(csv));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM account WHERE id = ?", BigDecimal.class, accountId))
+            .isEqualByComparingTo("-25.50");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
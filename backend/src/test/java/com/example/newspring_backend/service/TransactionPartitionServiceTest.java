@@ -0,0 +1,123 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newspring_backend.repository.MonthlySummaryRepository;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Rows dated in a year without a partition wait in the default partition until
+ * maintenance creates the year, and an archived year leaves the live table but
+ * keeps its rollup rows through reconciliation and rebuilds. Uses years around
+ * 1900 so no real data or other test shares the partitions.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionPartitionServiceTest {
+
+    private static final int STRANDED_YEAR = 1901;
+    private static final int ARCHIVED_YEAR = 1900;
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long accountId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('partition-test@example.com', 'x') RETURNING id",
+            Long.class);
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Partitions') RETURNING id", Long.class, userId);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transaction_y" + STRANDED_YEAR);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS archived_transaction_y" + ARCHIVED_YEAR);
+        jdbcTemplate.update("DELETE FROM transaction_partition_archive WHERE year = ?", ARCHIVED_YEAR);
+    }
+
+    @Test
+    void rowsInTheDefaultPartitionMoveToTheirYearsPartition() {
+        Long id = insert(LocalDate.of(STRANDED_YEAR, 6, 1));
+        assertThat(partitionOf(id)).isEqualTo("transaction_default");
+
+        int currentYear = LocalDate.now().getYear();
+        List<Integer> created = transactionPartitionService.ensurePartitions(currentYear, currentYear + 1);
+
+        assertThat(created).contains(STRANDED_YEAR);
+        assertThat(partitionOf(id)).isEqualTo("transaction_y" + STRANDED_YEAR);
+        assertThat(transactionRepository.findById(id)).isPresent();
+        assertThat(transactionPartitionService.ensurePartitions(STRANDED_YEAR, STRANDED_YEAR)).isEmpty();
+    }
+
+    @Test
+    void archivedYearKeepsItsRollupAndIsNotRecreated() {
+        Long id = insert(LocalDate.of(ARCHIVED_YEAR, 3, 15));
+        transactionPartitionService.ensurePartitions(ARCHIVED_YEAR, ARCHIVED_YEAR);
+        monthlySummaryService.rebuildUser(userId);
+
+        assertThat(transactionPartitionService.archiveBefore(ARCHIVED_YEAR + 1)).containsExactly(ARCHIVED_YEAR);
+
+        assertThat(transactionRepository.findById(id)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM archived_transaction_y" + ARCHIVED_YEAR + " WHERE id = ?", Long.class, id))
+            .isEqualTo(1);
+        assertThat(monthlySummaryRepository.findUsersOutOfSync()).doesNotContain(userId);
+        monthlySummaryService.rebuildUser(userId);
+        assertThat(rollupCount(ARCHIVED_YEAR)).isEqualTo(1);
+
+        // A late row for the archived year waits in the default partition instead of reviving it
+        Long late = insert(LocalDate.of(ARCHIVED_YEAR, 12, 31));
+        assertThat(transactionPartitionService.ensurePartitions(ARCHIVED_YEAR, ARCHIVED_YEAR)).isEmpty();
+        assertThat(partitionOf(late)).isEqualTo("transaction_default");
+        jdbcTemplate.update("DELETE FROM transaction WHERE id = ?", late);
+    }
+
+    private Long insert(LocalDate date) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO transaction (account_id, amount, transaction_date) VALUES (?, -10, ?) RETURNING id",
+            Long.class, accountId, Date.valueOf(date));
+    }
+
+    private String partitionOf(Long id) {
+        return jdbcTemplate.queryForObject(
+            "SELECT CAST(tableoid::regclass AS text) FROM transaction WHERE id = ?", String.class, id);
+    }
+
+    private long rollupCount(int year) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(transaction_count), 0) FROM monthly_summary WHERE user_id = ? AND year = ?",
+            Long.class, userId, year);
+    }
+}
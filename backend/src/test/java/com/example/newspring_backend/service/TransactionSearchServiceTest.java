@@ -0,0 +1,153 @@
+package com.example.newspring_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newspring_backend.dto.CursorPage;
+import com.example.newspring_backend.dto.TransactionResponse;
+import com.example.newspring_backend.repository.TransactionRepository;
+
+/**
+ * Ranked search semantics (stemming, substrings, typos, literal wildcards,
+ * description outranking notes), keyset paging across windows, and an EXPLAIN
+ * check that every match predicate can be answered from the V6 indexes.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchServiceTest {
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = jdbcTemplate.queryForObject(
+            "INSERT INTO app_user (email, password_hash) VALUES ('search-test@example.com', 'x') RETURNING id",
+            Long.class);
+        Long accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO account (user_id, name) VALUES (?, 'Search') RETURNING id", Long.class, userId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description, notes) VALUES " +
+            "(?, -4.50, DATE '2024-03-01', 'Coffee at the corner cafe', NULL), " +
+            "(?, -60, DATE '2024-03-02', 'Groceries weekly', NULL), " +
+            "(?, -12, DATE '2024-03-03', 'Bakery', 'bought coffee beans'), " +
+            "(?, -30, DATE '2024-03-04', 'Hardware store', '50% off_sale')",
+            accountId, accountId, accountId, accountId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description, notes) " +
+            "SELECT ?, -2, DATE '2024-01-01' + g, 'Parking meter ' || g, CASE WHEN g % 3 = 0 THEN 'parking' END " +
+            "FROM generate_series(1, 25) g", accountId);
+        jdbcTemplate.update(
+            "INSERT INTO transaction (account_id, amount, transaction_date, description) " +
+            "SELECT ?, -1, DATE '2020-01-01' + (g % 1826), 'Statement line ' || g " +
+            "FROM generate_series(1, 2000) g", accountId);
+        jdbcTemplate.execute("ANALYZE transaction");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void descriptionMatchOutranksNotesMatch() {
+        assertThat(descriptions("coffee")).containsExactly("Coffee at the corner cafe", "Bakery");
+    }
+
+    @Test
+    void matchesStemmedTermsSubstringsAndTypos() {
+        assertThat(descriptions("grocery")).containsExactly("Groceries weekly");
+        assertThat(descriptions("ardwar")).containsExactly("Hardware store");
+        assertThat(descriptions("cofee")).containsExactlyInAnyOrder("Coffee at the corner cafe", "Bakery");
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreLiteral() {
+        assertThat(descriptions("%")).containsExactly("Hardware store");
+        assertThat(descriptions("off_sale")).containsExactly("Hardware store");
+    }
+
+    @Test
+    void keysetWindowsCoverEveryMatchOnceInRankOrder() {
+        List<Long> all = ids(transactionSearchService.search(userId, "parking", null, 100));
+        assertThat(all).hasSize(25);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        int windows = 0;
+        do {
+            CursorPage<TransactionResponse> window = transactionSearchService.search(userId, "parking", cursor, 10);
+            paged.addAll(ids(window));
+            cursor = window.nextCursor();
+            windows++;
+        } while (cursor != null);
+
+        assertThat(windows).isEqualTo(3);
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void blankQueryBadCursorOrBadSizeIsRejected() {
+        assertThatThrownBy(() -> transactionSearchService.search(userId, "  ", null, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactionSearchService.search(userId, "coffee", "bm90LWEtY3Vyc29y", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        for (int size : new int[] {0, -1, TransactionSearchService.MAX_SIZE + 1}) {
+            assertThatThrownBy(() -> transactionSearchService.search(userId, "coffee", null, size))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void matchingPredicatesAreServedByTheSearchIndexes() {
+        String text = TransactionRepository.SEARCH_TEXT;
+        // The test table is too small for the planner to pick the indexes on cost, so rule out the
+        // sequential scan: the plan then shows whether each predicate matches its indexed expression
+        List<String> lines = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList(
+                "EXPLAIN SELECT t.id FROM transaction t " +
+                "WHERE t.search_vector @@ websearch_to_tsquery('english', 'coffee') " +
+                "OR " + text + " ILIKE '%coffee%' OR 'coffee' <% " + text, String.class);
+        });
+        String plan = String.join("\n", lines);
+
+        // Each yearly partition carries its own copy of the V6 indexes (see V7)
+        assertThat(plan).contains("Bitmap Index Scan on transaction_y2024_search_vector_idx");
+        assertThat(plan).contains("Bitmap Index Scan on transaction_y2024_expr_idx");
+        assertThat(plan).doesNotContain("Seq Scan on transaction_y");
+    }
+
+    private List<String> descriptions(String query) {
+        return transactionSearchService.search(userId, query, null, 10).content().stream()
+            .map(TransactionResponse::description)
+            .toList();
+    }
+
+    private static List<Long> ids(CursorPage<TransactionResponse> page) {
+        return page.content().stream().map(TransactionResponse::id).toList();
+    }
+}
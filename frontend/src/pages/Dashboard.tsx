@@ -9,8 +9,8 @@ import {
   Calendar,
   Filter
 } from 'lucide-react';
-import { reportsApi, transactionApi, accountApi } from '../services/api';
-import type { DashboardReport, Transaction } from '../types';
+import { reportsApi } from '../services/api';
+import type { DashboardDelta, DashboardReport, Transaction } from '../types';
 
 const Dashboard: React.FC = () => {
   const [dashboard, setDashboard] = useState<DashboardReport | null>(null);
@@ -26,19 +26,15 @@ const Dashboard: React.FC = () => {
         console.log('📊 Fetching dashboard data for user:', userId);
         
         // This will call: http://localhost:8080/api/reports/dashboard?userId=1
+        // Totals, total balance and recent transactions come back in one response
         const dashboardData = await reportsApi.getDashboard(userId);
         console.log('✅ Dashboard data received:', dashboardData);
         setDashboard(dashboardData);
-        
-        // This will call: http://localhost:8080/api/transactions/user/1/recent?size=5
-        const transactionsData = await transactionApi.getRecent(userId, 5);
-        console.log('✅ Recent transactions received:', transactionsData);
-        setRecentTransactions(transactionsData.content || []);
-        
-        // This will call: http://localhost:8080/api/accounts/user/1/total-balance
-        const balance = await accountApi.getTotalBalance(userId);
-        console.log('✅ Total balance received:', balance);
-        setTotalBalance(balance);
+        setRecentTransactions(dashboardData.recentTransactions ?? []);
+        setTotalBalance(dashboardData.totalBalance ?? 0);
+        if (dashboardData.unavailable.length > 0) {
+          console.warn('⚠️ Dashboard sections unavailable:', dashboardData.unavailable);
+        }
         
         setLoading(false);
       } catch (error) {
@@ -48,7 +44,42 @@ const Dashboard: React.FC = () => {
       }
     };
 
-    fetchDashboardData();
+    // The snapshot is fetched on every "ready", which the server sends once this stream receives deltas,
+    // so no write falls between the snapshot and the first delta; pushed deltas are added to it
+    const applyDelta = (delta: DashboardDelta) => {
+      const add = (period: DashboardReport['currentMonth']) => period && {
+        income: period.income + delta.income,
+        expense: period.expense + delta.expense,
+        net: period.net + delta.net,
+      };
+      setDashboard(current => current && {
+        ...current,
+        currentMonth: delta.year === current.year && delta.month === current.month
+          ? add(current.currentMonth) : current.currentMonth,
+        currentYear: delta.year === current.year ? add(current.currentYear) : current.currentYear,
+        totalTransactions: current.totalTransactions !== null
+          ? current.totalTransactions + delta.transactionCount : null,
+      });
+      setTotalBalance(balance => balance + delta.net);
+    };
+
+    let ready = false;
+    const source = reportsApi.streamDashboard(userId, {
+      onReady: () => {
+        ready = true;
+        fetchDashboardData();
+      },
+      onDelta: applyDelta,
+      onRefresh: fetchDashboardData,
+    });
+    // If the stream never opens (e.g. the backend is down), fetch anyway so the page shows the error
+    source.onerror = () => {
+      if (!ready) {
+        fetchDashboardData();
+      }
+    };
+
+    return () => source.close();
   }, [userId]);
 
   const formatCurrency = (amount: number) => {
@@ -159,7 +190,7 @@ const Dashboard: React.FC = () => {
             <div>
               <p className="text-sm font-medium text-gray-600">Monthly Income</p>
               <p className="text-2xl font-bold text-gray-900">
-                {dashboard && formatCurrency(dashboard.currentMonth.income)}
+                {formatCurrency(dashboard?.currentMonth?.income ?? 0)}
               </p>
             </div>
             <div className="p-3 bg-success-100 rounded-lg">
@@ -179,7 +210,7 @@ const Dashboard: React.FC = () => {
             <div>
               <p className="text-sm font-medium text-gray-600">Monthly Expenses</p>
               <p className="text-2xl font-bold text-gray-900">
-                {dashboard && formatCurrency(Math.abs(dashboard.currentMonth.expense))}
+                {formatCurrency(Math.abs(dashboard?.currentMonth?.expense ?? 0))}
               </p>
             </div>
             <div className="p-3 bg-danger-100 rounded-lg">
@@ -241,7 +272,7 @@ const Dashboard: React.FC = () => {
                           {transaction.description}
                         </p>
                         <p className="text-xs text-gray-500">
-                          {formatDate(transaction.transactionDate)} • {transaction.account.name}
+                          {formatDate(transaction.transactionDate)} • {transaction.accountName}
                         </p>
                       </div>
                     </div>
@@ -5,9 +5,14 @@ import type {
   Category,
   Transaction,
   PageResponse,
+  CursorPage,
   MonthlyReport,
   YearlyReport,
   DashboardReport,
+  DashboardDelta,
+  TimeseriesReport,
+  TimeseriesBucket,
+  TimeseriesGroupBy,
   CreateTransactionForm,
   CreateAccountForm,
   CreateCategoryForm,
@@ -166,6 +171,14 @@ export const transactionApi = {
   getByUser: (userId: number, page = 0, size = 10, sortBy = 'transactionDate', sortDir = 'desc'): Promise<PageResponse<Transaction>> => 
     api.get(`/transactions/user/${userId}?page=${page}&size=${size}&sortBy=${sortBy}&sortDir=${sortDir}`).then(res => res.data),
   
+  scrollByUser: (userId: number, cursor?: string | null, size = 20): Promise<CursorPage<Transaction>> => {
+    const params = new URLSearchParams({ size: size.toString() });
+    if (cursor) {
+      params.append('cursor', cursor);
+    }
+    return api.get(`/transactions/user/${userId}/scroll?${params.toString()}`).then(res => res.data);
+  },
+  
   getRecent: (userId: number, size = 5): Promise<PageResponse<Transaction>> => 
     api.get(`/transactions/user/${userId}/recent?size=${size}`).then(res => res.data),
   
@@ -178,8 +191,14 @@ export const transactionApi = {
   getByCategory: (categoryId: number, page = 0, size = 10): Promise<PageResponse<Transaction>> => 
     api.get(`/transactions/category/${categoryId}?page=${page}&size=${size}`).then(res => res.data),
   
-  search: (userId: number, description: string, page = 0, size = 10): Promise<PageResponse<Transaction>> => 
-    api.get(`/transactions/search?userId=${userId}&description=${description}&page=${page}&size=${size}`).then(res => res.data),
+  // Ranked by relevance; pass nextCursor back as cursor for the next window
+  search: (userId: number, q: string, cursor?: string | null, size = 10): Promise<CursorPage<Transaction>> => {
+    const params = new URLSearchParams({ userId: userId.toString(), q, size: size.toString() });
+    if (cursor) {
+      params.append('cursor', cursor);
+    }
+    return api.get(`/transactions/search?${params.toString()}`).then(res => res.data);
+  },
   
   create: (transaction: CreateTransactionForm): Promise<Transaction> => {
     const params = new URLSearchParams();
@@ -211,6 +230,26 @@ export const reportsApi = {
   
   getDashboard: (userId: number): Promise<DashboardReport> => 
     api.get(`/reports/dashboard?userId=${userId}`).then(res => res.data),
+  
+  // Live dashboard changes; onReady fires on every (re)connect, onRefresh when the dashboard must be re-fetched.
+  // Returns the EventSource so the caller can close it.
+  streamDashboard: (userId: number, handlers: {
+    onReady: () => void;
+    onDelta: (delta: DashboardDelta) => void;
+    onRefresh: () => void;
+  }): EventSource => {
+    const source = new EventSource(`${API_BASE_URL}/reports/dashboard/stream?userId=${userId}`);
+    source.addEventListener('ready', () => handlers.onReady());
+    source.addEventListener('delta', (event) => handlers.onDelta(JSON.parse((event as MessageEvent).data)));
+    source.addEventListener('refresh', () => handlers.onRefresh());
+    return source;
+  },
+  
+  // Every bucket between from and to (inclusive) in one response
+  getTimeseries: (userId: number, from: string, to: string, bucket: TimeseriesBucket = 'month',
+                  groupBy: TimeseriesGroupBy = 'none'): Promise<TimeseriesReport> =>
+    api.get(`/reports/timeseries?userId=${userId}&from=${from}&to=${to}&bucket=${bucket}&groupBy=${groupBy}`)
+      .then(res => res.data),
 };
 
 export default api;
\ No newline at end of file
@@ -41,8 +41,10 @@ export interface Transaction {
   currency: string;
   notes?: string;
   receiptPath?: string;
-  account: Account;
-  category?: Category;
+  accountId: number;
+  accountName: string;
+  categoryId?: number;
+  categoryName?: string;
   createdAt: string;
   updatedAt: string;
 }
@@ -58,6 +60,14 @@ export interface PageResponse<T> {
   last: boolean;
 }
 
+// Keyset-paginated window; pass nextCursor back as cursor for the next one
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 // Report types
 export interface MonthlyReport {
   month: number;
@@ -75,19 +85,54 @@ export interface YearlyReport {
 }
 
 export interface DashboardReport {
-  currentMonth: {
+  currentMonth: null | {
     income: number;
     expense: number;
     net: number;
   };
-  currentYear: {
+  currentYear: null | {
     income: number;
     expense: number;
     net: number;
   };
-  totalTransactions: number;
+  totalTransactions: number | null;
+  totalBalance: number | null;
+  recentTransactions: Transaction[] | null;
   month: number;
   year: number;
+  unavailable: string[];
+}
+
+// One month's change from a committed write, pushed on /reports/dashboard/stream
+export interface DashboardDelta {
+  year: number;
+  month: number;
+  income: number;
+  expense: number;
+  net: number;
+  transactionCount: number;
+}
+
+export type TimeseriesBucket = 'day' | 'week' | 'month';
+export type TimeseriesGroupBy = 'none' | 'category' | 'account';
+
+export interface TimeseriesPoint {
+  bucket: string;
+  groupId: number | null;
+  groupName: string | null;
+  income: number;
+  expense: number;
+  net: number;
+  transactionCount: number;
+}
+
+export interface TimeseriesReport {
+  userId: number;
+  from: string;
+  to: string;
+  bucket: TimeseriesBucket;
+  groupBy: TimeseriesGroupBy;
+  points: TimeseriesPoint[];
 }
 
 // Form types